@@ -24,8 +24,7 @@
  */
 package com.questhelper;
 
-import com.google.common.collect.ImmutableList;
-import java.util.List;
+import com.questhelper.util.IdList;
 import lombok.Getter;
 import net.runelite.api.ItemID;
 
@@ -35,13 +34,14 @@ import net.runelite.api.ItemID;
  * Order items from highest tier to lowest tier,
  * or highest dose to lowest dose, etc.
  * As long as the list is consistent in how it is ordered.
+ * The lists are immutable, so requirements built from them share the list rather than copying it.
  */
 public class ItemCollections
 {
 	// Tools
 
 	@Getter
-	private static final List<Integer> axes = ImmutableList.of(
+	private static final IdList axes = IdList.of(
 		ItemID.CRYSTAL_AXE,
 		ItemID._3RD_AGE_AXE,
 		ItemID.TRAILBLAZER_AXE,
@@ -59,7 +59,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> pickaxes = ImmutableList.of(
+	private static final IdList pickaxes = IdList.of(
 		ItemID.INFERNAL_PICKAXE_OR,
 		ItemID.TRAILBLAZER_PICKAXE,
 		ItemID.CRYSTAL_PICKAXE,
@@ -79,7 +79,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> harpoons = ImmutableList.of(
+	private static final IdList harpoons = IdList.of(
 		ItemID.INFERNAL_HARPOON_OR,
 		ItemID.TRAILBLAZER_HARPOON,
 		ItemID.INFERNAL_HARPOON,
@@ -89,7 +89,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> machete = ImmutableList.of(
+	private static final IdList machete = IdList.of(
 		ItemID.RED_TOPAZ_MACHETE,
 		ItemID.JADE_MACHETE,
 		ItemID.OPAL_MACHETE,
@@ -97,7 +97,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> nails = ImmutableList.of(
+	private static final IdList nails = IdList.of(
 		ItemID.STEEL_NAILS,
 		ItemID.IRON_NAILS,
 		ItemID.BRONZE_NAILS,
@@ -108,7 +108,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> bows = ImmutableList.of(
+	private static final IdList bows = IdList.of(
 		ItemID.MAGIC_SHORTBOW,
 		ItemID.MAGIC_SHORTBOW_I,
 		ItemID.MAGIC_LONGBOW,
@@ -125,7 +125,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> swords = ImmutableList.of(
+	private static final IdList swords = IdList.of(
 		ItemID.BRONZE_SWORD,
 		ItemID.BRONZE_LONGSWORD,
 		ItemID.IRON_SWORD,
@@ -149,7 +149,7 @@ public class ItemCollections
 	// Teleports
 
 	@Getter
-	private static final List<Integer> metalArrows = ImmutableList.of(
+	private static final IdList metalArrows = IdList.of(
 		ItemID.RUNE_ARROW,
 		ItemID.ADAMANT_ARROW,
 		ItemID.MITHRIL_ARROW,
@@ -159,7 +159,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> arrows = ImmutableList.of(
+	private static final IdList arrows = IdList.of(
 		ItemID.DRAGON_ARROW,
 		ItemID.AMETHYST_ARROW,
 		ItemID.RUNE_ARROW,
@@ -171,7 +171,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> brutalArrows = ImmutableList.of(
+	private static final IdList brutalArrows = IdList.of(
 		ItemID.RUNE_BRUTAL,
 		ItemID.ADAMANT_BRUTAL,
 		ItemID.MITHRIL_BRUTAL,
@@ -182,7 +182,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> fireArrows = ImmutableList.of(
+	private static final IdList fireArrows = IdList.of(
 		ItemID.DRAGON_FIRE_ARROW,
 		ItemID.DRAGON_FIRE_ARROW_LIT,
 		ItemID.AMETHYST_FIRE_ARROW,
@@ -202,7 +202,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> specialArrows = ImmutableList.of(
+	private static final IdList specialArrows = IdList.of(
 		ItemID.BROAD_ARROWS,
 		ItemID.OGRE_ARROW,
 		ItemID.TRAINING_ARROWS,
@@ -210,7 +210,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> arrowtips = ImmutableList.of(
+	private static final IdList arrowtips = IdList.of(
 		ItemID.DRAGON_ARROWTIPS,
 		ItemID.AMETHYST_ARROWTIPS,
 		ItemID.RUNE_ARROWTIPS,
@@ -222,7 +222,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> airRune = ImmutableList.of(
+	private static final IdList airRune = IdList.of(
 		ItemID.AIR_RUNE,
 		ItemID.MIST_RUNE,
 		ItemID.SMOKE_RUNE,
@@ -230,7 +230,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> airStaff = ImmutableList.of(
+	private static final IdList airStaff = IdList.of(
 		ItemID.AIR_BATTLESTAFF,
 		ItemID.MYSTIC_AIR_STAFF,
 		ItemID.STAFF_OF_AIR,
@@ -243,7 +243,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> fireRune = ImmutableList.of(
+	private static final IdList fireRune = IdList.of(
 		ItemID.FIRE_RUNE,
 		ItemID.LAVA_RUNE,
 		ItemID.SMOKE_RUNE,
@@ -251,7 +251,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> fireStaff = ImmutableList.of(
+	private static final IdList fireStaff = IdList.of(
 		ItemID.FIRE_BATTLESTAFF,
 		ItemID.MYSTIC_FIRE_STAFF,
 		ItemID.STAFF_OF_FIRE,
@@ -264,7 +264,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> waterRune = ImmutableList.of(
+	private static final IdList waterRune = IdList.of(
 		ItemID.WATER_RUNE,
 		ItemID.MUD_RUNE,
 		ItemID.MIST_RUNE,
@@ -272,7 +272,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> waterStaff = ImmutableList.of(
+	private static final IdList waterStaff = IdList.of(
 		ItemID.FIRE_BATTLESTAFF,
 		ItemID.MYSTIC_FIRE_STAFF,
 		ItemID.STAFF_OF_FIRE,
@@ -285,7 +285,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> earthRune = ImmutableList.of(
+	private static final IdList earthRune = IdList.of(
 		ItemID.EARTH_RUNE,
 		ItemID.MUD_RUNE,
 		ItemID.LAVA_RUNE,
@@ -293,7 +293,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> earthStaff = ImmutableList.of(
+	private static final IdList earthStaff = IdList.of(
 		ItemID.EARTH_BATTLESTAFF,
 		ItemID.MYSTIC_EARTH_STAFF,
 		ItemID.STAFF_OF_EARTH,
@@ -308,7 +308,7 @@ public class ItemCollections
 	// Potions
 
 	@Getter
-	private static final List<Integer> antipoisons = ImmutableList.of(
+	private static final IdList antipoisons = IdList.of(
 		ItemID.ANTIVENOM4_12913,
 		ItemID.ANTIVENOM3_12915,
 		ItemID.ANTIVENOM4_12913,
@@ -351,7 +351,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> antivenoms = ImmutableList.of(
+	private static final IdList antivenoms = IdList.of(
 		ItemID.ANTIVENOM4_12913,
 		ItemID.ANTIVENOM3_12915,
 		ItemID.ANTIVENOM2_12917,
@@ -363,7 +363,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> prayerPotions = ImmutableList.of(
+	private static final IdList prayerPotions = IdList.of(
 		ItemID.PRAYER_POTION4,
 		ItemID.PRAYER_POTION3,
 		ItemID.PRAYER_POTION2,
@@ -371,7 +371,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> restorePotions = ImmutableList.of(
+	private static final IdList restorePotions = IdList.of(
 		ItemID.SUPER_RESTORE4,
 		ItemID.SUPER_RESTORE3,
 		ItemID.SUPER_RESTORE2,
@@ -383,7 +383,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> superRestorePotions = ImmutableList.of(
+	private static final IdList superRestorePotions = IdList.of(
 		ItemID.SUPER_RESTORE4,
 		ItemID.SUPER_RESTORE3,
 		ItemID.SUPER_RESTORE2,
@@ -391,7 +391,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> saradominBrews = ImmutableList.of(
+	private static final IdList saradominBrews = IdList.of(
 		ItemID.SARADOMIN_BREW4,
 		ItemID.SARADOMIN_BREW3,
 		ItemID.SARADOMIN_BREW2,
@@ -399,7 +399,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> runRestoreItems = ImmutableList.of(
+	private static final IdList runRestoreItems = IdList.of(
 		ItemID.AGILITY_CAPE,
 		ItemID.AGILITY_CAPET,
 		ItemID.EXPLORERS_RING_4,
@@ -433,7 +433,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> staminaPotions = ImmutableList.of(
+	private static final IdList staminaPotions = IdList.of(
 		ItemID.STAMINA_POTION4,
 		ItemID.STAMINA_POTION3,
 		ItemID.STAMINA_POTION2,
@@ -443,7 +443,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> agilityPotions = ImmutableList.of(
+	private static final IdList agilityPotions = IdList.of(
 		ItemID.AGILITY_POTION4,
 		ItemID.AGILITY_POTION3,
 		ItemID.AGILITY_POTION2,
@@ -453,7 +453,7 @@ public class ItemCollections
 	// Food
 
 	@Getter
-	private static final List<Integer> goodEatingFood = ImmutableList.of(
+	private static final IdList goodEatingFood = IdList.of(
 		ItemID.DARK_CRAB,
 		ItemID.TUNA_POTATO,
 		ItemID.MANTA_RAY,
@@ -493,7 +493,7 @@ public class ItemCollections
 
 
 	@Getter
-	private static final List<Integer> fishFood = ImmutableList.of(
+	private static final IdList fishFood = IdList.of(
 		ItemID.DARK_CRAB,
 		ItemID.MANTA_RAY,
 		ItemID.ANGLERFISH,
@@ -520,7 +520,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> gnomeFood = ImmutableList.of(
+	private static final IdList gnomeFood = IdList.of(
 		ItemID.TANGLED_TOADS_LEGS,
 		ItemID.TANGLED_TOADS_LEGS_9551,
 		ItemID.CHOCOLATE_BOMB,
@@ -566,13 +566,13 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> stews = ImmutableList.of(
+	private static final IdList stews = IdList.of(
 		ItemID.STEW,
 		ItemID.CURRY
 	);
 
 	@Getter
-	private static final List<Integer> pizzas = ImmutableList.of(
+	private static final IdList pizzas = IdList.of(
 		ItemID.PINEAPPLE_PIZZA,
 		ItemID.ANCHOVY_PIZZA,
 		ItemID.MEAT_PIZZA,
@@ -581,7 +581,7 @@ public class ItemCollections
 
 
 	@Getter
-	private static final List<Integer> potatoFood = ImmutableList.of(
+	private static final IdList potatoFood = IdList.of(
 		ItemID.TUNA_POTATO,
 		ItemID.MUSHROOM_POTATO,
 		ItemID.EGG_POTATO,
@@ -592,7 +592,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> pies = ImmutableList.of(
+	private static final IdList pies = IdList.of(
 		ItemID.SUMMER_PIE,
 		ItemID.WILD_PIE,
 		ItemID.DRAGONFRUIT_PIE,
@@ -612,7 +612,7 @@ public class ItemCollections
 	// Teleport items
 
 	@Getter
-	private static final List<Integer> gamesNecklaces = ImmutableList.of(
+	private static final IdList gamesNecklaces = IdList.of(
 		ItemID.GAMES_NECKLACE8,
 		ItemID.GAMES_NECKLACE7,
 		ItemID.GAMES_NECKLACE6,
@@ -624,7 +624,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> ringOfDuelings = ImmutableList.of(
+	private static final IdList ringOfDuelings = IdList.of(
 		ItemID.RING_OF_DUELING8,
 		ItemID.RING_OF_DUELING7,
 		ItemID.RING_OF_DUELING6,
@@ -636,7 +636,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> burningAmulets = ImmutableList.of(
+	private static final IdList burningAmulets = IdList.of(
 		ItemID.BURNING_AMULET5,
 		ItemID.BURNING_AMULET4,
 		ItemID.BURNING_AMULET3,
@@ -645,7 +645,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> necklaceOfPassages = ImmutableList.of(
+	private static final IdList necklaceOfPassages = IdList.of(
 		ItemID.NECKLACE_OF_PASSAGE5,
 		ItemID.NECKLACE_OF_PASSAGE4,
 		ItemID.NECKLACE_OF_PASSAGE3,
@@ -654,7 +654,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> skillsNecklaces = ImmutableList.of(
+	private static final IdList skillsNecklaces = IdList.of(
 		ItemID.SKILLS_NECKLACE6,
 		ItemID.SKILLS_NECKLACE5,
 		ItemID.SKILLS_NECKLACE4,
@@ -664,7 +664,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> ringOfWealths = ImmutableList.of(
+	private static final IdList ringOfWealths = IdList.of(
 		ItemID.RING_OF_WEALTH_5,
 		ItemID.RING_OF_WEALTH_I5,
 		ItemID.RING_OF_WEALTH_4,
@@ -678,7 +678,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> combatBracelets = ImmutableList.of(
+	private static final IdList combatBracelets = IdList.of(
 		ItemID.COMBAT_BRACELET6,
 		ItemID.COMBAT_BRACELET5,
 		ItemID.COMBAT_BRACELET4,
@@ -688,7 +688,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> amuletOfGlories = ImmutableList.of(
+	private static final IdList amuletOfGlories = IdList.of(
 		ItemID.AMULET_OF_ETERNAL_GLORY,
 		ItemID.AMULET_OF_GLORY6,
 		ItemID.AMULET_OF_GLORY_T6,
@@ -705,7 +705,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> digsitePendants = ImmutableList.of(
+	private static final IdList digsitePendants = IdList.of(
 		ItemID.DIGSITE_PENDANT_5,
 		ItemID.DIGSITE_PENDANT_4,
 		ItemID.DIGSITE_PENDANT_3,
@@ -714,7 +714,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> slayerRings = ImmutableList.of(
+	private static final IdList slayerRings = IdList.of(
 		ItemID.SLAYER_RING_ETERNAL,
 		ItemID.SLAYER_RING_8,
 		ItemID.SLAYER_RING_7,
@@ -729,7 +729,7 @@ public class ItemCollections
 	// Logs
 
 	@Getter
-	private static final List<Integer> logsForFire = ImmutableList.of(
+	private static final IdList logsForFire = IdList.of(
 		ItemID.LOGS,
 		ItemID.OAK_LOGS,
 		ItemID.WILLOW_LOGS,
@@ -763,7 +763,7 @@ public class ItemCollections
 	// Other
 
 	@Getter
-	private static final List<Integer> greegrees = ImmutableList.of(
+	private static final IdList greegrees = IdList.of(
 		ItemID.KARAMJAN_MONKEY_GREEGREE,
 		ItemID.GORILLA_GREEGREE,
 		ItemID.ANCIENT_GORILLA_GREEGREE,
@@ -776,7 +776,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> antifireShields = ImmutableList.of(
+	private static final IdList antifireShields = IdList.of(
 		ItemID.DRAGONFIRE_SHIELD,
 		ItemID.DRAGONFIRE_SHIELD_11284,
 		ItemID.DRAGONFIRE_WARD,
@@ -788,7 +788,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> ghostspeak = ImmutableList.of(
+	private static final IdList ghostspeak = IdList.of(
 		ItemID.GHOSTSPEAK_AMULET,
 		ItemID.GHOSTSPEAK_AMULET_4250,
 		ItemID.MORYTANIA_LEGS_2,
@@ -797,7 +797,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> lightSources = ImmutableList.of(
+	private static final IdList lightSources = IdList.of(
 		ItemID.FIREMAKING_CAPET,
 		ItemID.FIREMAKING_CAPE,
 		ItemID.BRUMA_TORCH,
@@ -819,7 +819,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> cats = ImmutableList.of(
+	private static final IdList cats = IdList.of(
 		ItemID.WILY_HELLCAT,
 		ItemID.WILY_CAT,
 		ItemID.WILY_CAT_6556,
@@ -862,7 +862,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> huntingCats = ImmutableList.of(
+	private static final IdList huntingCats = IdList.of(
 		ItemID.WILY_HELLCAT,
 		ItemID.WILY_CAT,
 		ItemID.WILY_CAT_6556,
@@ -898,7 +898,7 @@ public class ItemCollections
 
 
 	@Getter
-	private static final List<Integer> flowers = ImmutableList.of(
+	private static final IdList flowers = IdList.of(
 		ItemID.RED_FLOWERS,
 		ItemID.YELLOW_FLOWERS,
 		ItemID.PURPLE_FLOWERS,
@@ -912,7 +912,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> rodOfIvandis = ImmutableList.of(
+	private static final IdList rodOfIvandis = IdList.of(
 		ItemID.ROD_OF_IVANDIS_10,
 		ItemID.ROD_OF_IVANDIS_9,
 		ItemID.ROD_OF_IVANDIS_8,
@@ -926,7 +926,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> salveAmulet = ImmutableList.of(
+	private static final IdList salveAmulet = IdList.of(
 		ItemID.SALVE_AMULETEI,
 		ItemID.SALVE_AMULET_E,
 		ItemID.SALVE_AMULETI,
@@ -936,7 +936,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> wateringCans = ImmutableList.of(
+	private static final IdList wateringCans = IdList.of(
 		ItemID.GRICOLLERS_CAN,
 		ItemID.WATERING_CAN8,
 		ItemID.WATERING_CAN7,
@@ -949,7 +949,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> enchantedLyre = ImmutableList.of(
+	private static final IdList enchantedLyre = IdList.of(
 		ItemID.ENCHANTED_LYREI,
 		ItemID.ENCHANTED_LYRE5,
 		ItemID.ENCHANTED_LYRE4,
@@ -959,7 +959,7 @@ public class ItemCollections
 	);
 
 	@Getter
-	private static final List<Integer> slayerHelmets = ImmutableList.of(
+	private static final IdList slayerHelmets = IdList.of(
 		ItemID.SLAYER_HELMET,
 		ItemID.SLAYER_HELMET_I,
 		ItemID.SLAYER_HELMET_I_25177,
@@ -24,15 +24,14 @@
  */
 package com.questhelper;
 
-import java.util.Arrays;
-import java.util.List;
+import com.questhelper.util.IdList;
 import lombok.Getter;
 import net.runelite.api.NpcID;
 
 public class NpcCollections
 {
 	@Getter
-	private static final List<Integer> cats = Arrays.asList(
+	private static final IdList cats = IdList.of(
 		NpcID.KITTEN,
 		NpcID.KITTEN_5591,
 		NpcID.KITTEN_5592,
@@ -93,7 +92,7 @@ public class NpcCollections
 	);
 
 	@Getter
-	private static final List<Integer> huntingCats = Arrays.asList(
+	private static final IdList huntingCats = IdList.of(
 		NpcID.KITTEN,
 		NpcID.KITTEN_5591,
 		NpcID.KITTEN_5592,
@@ -0,0 +1,74 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper;
+
+import java.awt.Color;
+import lombok.Getter;
+
+/**
+ * The config values read while rendering, copied out of {@link QuestHelperConfig} whenever the config changes.<br>
+ * Reading the config directly goes through the config manager's proxy each time, which adds up when it's done
+ * for every object every frame. The colours derived from the target colour are also worked out once here.
+ */
+@Getter
+public class QuestHelperConfigSnapshot
+{
+	/** The alpha used to fill object clickboxes */
+	private static final int TARGET_FILL_ALPHA = 20;
+
+	/** The alpha used to fill highlighted widgets and inventory slots */
+	private static final int WIDGET_FILL_ALPHA = 65;
+
+	private final boolean showSymbolOverlay;
+	private final boolean showMiniMapArrow;
+	private final boolean showOverlay;
+
+	private final Color targetOverlayColor;
+	private final Color targetFillColor;
+	private final Color targetOutlineColor;
+	private final Color widgetFillColor;
+	private final Color debugColor;
+
+	public QuestHelperConfigSnapshot(QuestHelperConfig config)
+	{
+		this.showSymbolOverlay = config.showSymbolOverlay();
+		this.showMiniMapArrow = config.showMiniMapArrow();
+		this.showOverlay = config.showOverlay();
+
+		this.targetOverlayColor = config.targetOverlayColor();
+		this.targetFillColor = withAlpha(targetOverlayColor, TARGET_FILL_ALPHA);
+		this.targetOutlineColor = targetOverlayColor.darker();
+		this.widgetFillColor = withAlpha(targetOverlayColor, WIDGET_FILL_ALPHA);
+		this.debugColor = config.debugColor();
+	}
+
+	private static Color withAlpha(Color color, int alpha)
+	{
+		return new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+	}
+}
@@ -26,14 +26,20 @@
  */
 package com.questhelper;
 
+import com.questhelper.panel.QuestHelperPanel;
 import com.questhelper.questhelpers.QuestDebugRenderer;
 import com.questhelper.questhelpers.QuestHelper;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementEvaluator;
+import com.questhelper.tracking.QuestStateCache;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import javax.inject.Inject;
+import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.components.LineComponent;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 
 public class QuestHelperDebugOverlay extends OverlayPanel implements QuestDebugRenderer
@@ -56,6 +62,9 @@ public class QuestHelperDebugOverlay extends OverlayPanel implements QuestDebugR
 			renderDebugOverlay(graphics, plugin, quest, panelComponent);
 			renderDebugWorldOverlayHint(graphics, plugin, quest, panelComponent);
 			renderDebugWidgetOverlayHint(graphics, plugin, quest, panelComponent);
+			renderEvaluatorStats(plugin.getRequirementEvaluator(), plugin.getRequirementContext());
+			renderQuestStateStats(plugin.getQuestStateCache());
+			renderSearchStats(plugin.getPanel());
 		}
 
 		return super.render(graphics);
@@ -69,4 +78,33 @@ public class QuestHelperDebugOverlay extends OverlayPanel implements QuestDebugR
 			quest.renderDebugOverlay(graphics, plugin, quest, panelComponent);
 		}
 	}
+
+	private void renderEvaluatorStats(RequirementEvaluator evaluator, RequirementEvaluationContext context)
+	{
+		addStat("Checks performed", Long.toString(evaluator.getChecksPerformed()));
+		addStat("Checks skipped", Long.toString(evaluator.getChecksSkipped()));
+		addStat("Tick cache hits", Long.toString(context.getHits()));
+		addStat("Tick cache misses", Long.toString(context.getMisses()));
+	}
+
+	private void renderQuestStateStats(QuestStateCache questStateCache)
+	{
+		addStat("Quest scripts / min", Integer.toString(questStateCache.getScriptRunsLastMinute()));
+	}
+
+	private void renderSearchStats(QuestHelperPanel panel)
+	{
+		addStat("Last quest search", String.format("%.2f ms", panel.getLastSearchTime() / 1_000_000.0));
+	}
+
+	private void addStat(String name, String value)
+	{
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left(name)
+			.leftColor(ColorScheme.BRAND_ORANGE_TRANSPARENT)
+			.right(value)
+			.rightColor(plugin.getConfig().debugColor())
+			.build()
+		);
+	}
 }
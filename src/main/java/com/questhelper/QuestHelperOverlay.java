@@ -32,6 +32,8 @@ import java.awt.Dimension;
 import java.awt.Graphics2D;
 import javax.inject.Inject;
 import com.questhelper.questhelpers.QuestHelper;
+import com.questhelper.steps.QuestStep;
+import net.runelite.api.Client;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPanel;
 import net.runelite.client.ui.overlay.OverlayPriority;
@@ -41,30 +43,64 @@ public class QuestHelperOverlay extends OverlayPanel
 	public static final Color TITLED_CONTENT_COLOR = new Color(190, 190, 190);
 
 	private final QuestHelperPlugin plugin;
+	private final Client client;
+
+	/*
+	 * The panel's children are kept between frames and only rebuilt when the tick, the step, or a requirement
+	 * input changes, as building them checks every requirement the step shows
+	 */
+	private QuestStep builtStep;
+	private QuestStep builtActiveStep;
+	private int builtTick = -1;
+	private long builtChangeCount = -1;
 
 	@Inject
-	public QuestHelperOverlay(QuestHelperPlugin plugin)
+	public QuestHelperOverlay(QuestHelperPlugin plugin, Client client)
 	{
 		this.plugin = plugin;
+		this.client = client;
 		setLayer(OverlayLayer.ALWAYS_ON_TOP);
 		setPriority(OverlayPriority.HIGHEST);
+		setClearChildren(false);
 	}
 
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		if (!plugin.getConfig().showOverlay())
+		if (!plugin.getConfigSnapshot().isShowOverlay())
 		{
+			clear();
 			return super.render(graphics);
 		}
 		QuestHelper questHelper = plugin.getSelectedQuest();
 
 		if (questHelper == null || questHelper.getCurrentStep() == null)
 		{
+			clear();
 			return null;
 		}
-		questHelper.getCurrentStep().makeOverlayHint(panelComponent, plugin);
+
+		QuestStep step = questHelper.getCurrentStep();
+		int tick = client.getTickCount();
+		long changeCount = plugin.getRequirementEvaluator().getChangeCount();
+		QuestStep activeStep = step.getActiveStep();
+		if (step != builtStep || activeStep != builtActiveStep || tick != builtTick || changeCount != builtChangeCount)
+		{
+			panelComponent.getChildren().clear();
+			step.makeOverlayHint(panelComponent, plugin);
+			builtStep = step;
+			builtActiveStep = activeStep;
+			builtTick = tick;
+			builtChangeCount = changeCount;
+		}
 
 		return super.render(graphics);
 	}
+
+	private void clear()
+	{
+		panelComponent.getChildren().clear();
+		builtStep = null;
+		builtActiveStep = null;
+	}
 }
@@ -36,18 +36,31 @@ import com.google.inject.Provides;
 import com.questhelper.banktab.QuestBankTab;
 import com.questhelper.banktab.QuestHelperBankTagService;
 import com.questhelper.panel.QuestHelperPanel;
-import com.questhelper.questhelpers.Quest;
+import com.questhelper.panel.QuestListModel;
 import com.questhelper.questhelpers.QuestHelper;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementEvaluator;
 import com.questhelper.steps.QuestStep;
+import com.questhelper.steps.StepEventRouter;
+import com.questhelper.steps.tools.QuestPerspective;
+import com.questhelper.tracking.ChatMatcher;
+import com.questhelper.tracking.GroundItemIndex;
+import com.questhelper.tracking.ItemContainerDiff;
+import com.questhelper.tracking.ItemCountIndex;
+import com.questhelper.tracking.NpcTracker;
+import com.questhelper.tracking.QuestStateCache;
+import com.questhelper.tracking.SceneObjectIndex;
+import com.questhelper.tracking.VarSnapshot;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.swing.SwingUtilities;
@@ -61,7 +74,6 @@ import net.runelite.api.InventoryID;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
 import net.runelite.api.Player;
-import net.runelite.api.QuestState;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
@@ -137,6 +149,11 @@ public class QuestHelperPlugin extends Plugin
 
 	private final BankItems bankItems = new BankItems();
 
+	private final ItemContainerDiff inventoryDiff = new ItemContainerDiff();
+
+	/** The inventory item ids which changed since the panel's requirements were last recoloured */
+	private final Set<Integer> changedInventoryItemIds = new HashSet<>();
+
 	@Getter
 	private QuestHelperBankTagService bankTagService;
 
@@ -187,6 +204,47 @@ public class QuestHelperPlugin extends Plugin
 	@Inject
 	private QuestHelperConfig config;
 
+	@Getter
+	private QuestHelperConfigSnapshot configSnapshot;
+
+	@Getter
+	@Inject
+	private RequirementEvaluator requirementEvaluator;
+
+	@Getter
+	@Inject
+	private RequirementEvaluationContext requirementContext;
+
+	@Getter
+	@Inject
+	private VarSnapshot varSnapshot;
+
+	@Getter
+	@Inject
+	private ItemCountIndex itemCountIndex;
+
+	@Getter
+	@Inject
+	private QuestStateCache questStateCache;
+
+	@Inject
+	private ChatMatcher chatMatcher;
+
+	@Inject
+	private NpcTracker npcTracker;
+
+	@Inject
+	private SceneObjectIndex sceneObjectIndex;
+
+	@Inject
+	private GroundItemIndex groundItemIndex;
+
+	@Inject
+	private StepEventRouter stepEventRouter;
+
+	@Inject
+	private QuestListModel questListModel;
+
 	@Getter
 	private QuestHelper selectedQuest = null;
 
@@ -198,8 +256,6 @@ public class QuestHelperPlugin extends Plugin
 	@Setter
 	private QuestHelper sidebarSelectedQuest = null;
 
-	private QuestStep lastStep = null;
-
 	private Map<String, QuestHelper> quests;
 
 	@Inject
@@ -209,6 +265,7 @@ public class QuestHelperPlugin extends Plugin
 	@Inject
 	ConfigManager configManager;
 
+	@Getter
 	private QuestHelperPanel panel;
 
 	private NavigationButton navButton;
@@ -224,11 +281,18 @@ public class QuestHelperPlugin extends Plugin
 	@Override
 	protected void startUp() throws IOException
 	{
+		configSnapshot = new QuestHelperConfigSnapshot(config);
 		bankTagService = new QuestHelperBankTagService(this);
 		bankTagsMain = new QuestBankTab(this);
 		bankTagsMain.startUp();
 		injector.injectMembers(bankTagsMain);
 		eventBus.register(bankTagsMain);
+		eventBus.register(requirementEvaluator);
+		eventBus.register(chatMatcher);
+		eventBus.register(npcTracker);
+		eventBus.register(sceneObjectIndex);
+		eventBus.register(groundItemIndex);
+		eventBus.register(stepEventRouter);
 
 		quests = scanAndInstantiate(getClass().getClassLoader());
 		overlayManager.add(questHelperOverlay);
@@ -261,6 +325,12 @@ public class QuestHelperPlugin extends Plugin
 	protected void shutDown()
 	{
 		eventBus.unregister(bankTagsMain);
+		eventBus.unregister(requirementEvaluator);
+		eventBus.unregister(chatMatcher);
+		eventBus.unregister(npcTracker);
+		eventBus.unregister(sceneObjectIndex);
+		eventBus.unregister(groundItemIndex);
+		eventBus.unregister(stepEventRouter);
 		overlayManager.remove(questHelperOverlay);
 		overlayManager.remove(questHelperWorldOverlay);
 		overlayManager.remove(questHelperWidgetOverlay);
@@ -270,6 +340,8 @@ public class QuestHelperPlugin extends Plugin
 		}
 		clientToolbar.removeNavigation(navButton);
 		shutDownQuest(false);
+		resetRequirementState();
+		stepEventRouter.clear();
 		bankTagService = null;
 		bankTagsMain = null;
 		quests = null;
@@ -287,16 +359,18 @@ public class QuestHelperPlugin extends Plugin
 		{
 			if (selectedQuest.getCurrentStep() != null)
 			{
-				panel.updateSteps();
 				QuestStep currentStep = selectedQuest.getCurrentStep().getSidePanelStep();
-				if (currentStep != null && currentStep != lastStep)
+				if (currentStep != null)
 				{
-					lastStep = currentStep;
-					panel.updateHighlight(currentStep);
+					panel.updateOverview(selectedQuest, currentStep);
 				}
-				panel.updateLocks();
 			}
 		}
+		if (!changedInventoryItemIds.isEmpty())
+		{
+			panel.updateItemRequirements(requirementContext, bankItems, changedInventoryItemIds);
+			changedInventoryItemIds.clear();
+		}
 		if (loadQuestList)
 		{
 			loadQuestList = false;
@@ -307,6 +381,8 @@ public class QuestHelperPlugin extends Plugin
 	@Subscribe
 	public void onItemContainerChanged(ItemContainerChanged event)
 	{
+		itemCountIndex.onItemContainerChanged(event);
+
 		if (event.getItemContainer() == client.getItemContainer(InventoryID.BANK))
 		{
 			bankItems.setItems(null);
@@ -314,19 +390,31 @@ public class QuestHelperPlugin extends Plugin
 		}
 		if (event.getItemContainer() == client.getItemContainer(InventoryID.INVENTORY))
 		{
-			clientThread.invokeLater(() -> panel.updateItemRequirements(client, bankItems));
+			inventoryDiff.update(event.getItemContainer().getItems(), changedInventoryItemIds);
 		}
 	}
 
 	@Subscribe
 	public void onGameStateChanged(final GameStateChanged event)
 	{
+		varSnapshot.onGameStateChanged(event);
+		itemCountIndex.onGameStateChanged(event);
+		questStateCache.onGameStateChanged(event);
+
 		final GameState state = event.getGameState();
 
+		if (state == GameState.LOADING)
+		{
+			QuestPerspective.invalidateInstanceChunks();
+		}
+
 		if (state == GameState.LOGIN_SCREEN)
 		{
-			panel.refresh(Collections.emptyList(), true, new HashMap<>());
+			questListModel.clear();
+			panel.refresh(Collections.emptyList(), true, false);
 			bankItems.setItems(null);
+			inventoryDiff.clear();
+			changedInventoryItemIds.clear();
 			if (selectedQuest != null && selectedQuest.getCurrentStep() != null)
 			{
 				shutDownQuest(true);
@@ -342,6 +430,8 @@ public class QuestHelperPlugin extends Plugin
 	@Subscribe
 	public void onVarbitChanged(VarbitChanged event)
 	{
+		varSnapshot.onVarbitChanged(event);
+
 		if (!(client.getGameState() == GameState.LOGGED_IN))
 		{
 			return;
@@ -369,8 +459,20 @@ public class QuestHelperPlugin extends Plugin
 	@Subscribe
 	public void onConfigChanged(ConfigChanged event)
 	{
-		if (event.getGroup().equals("questhelper") && configEvents.contains(event.getKey()))
+		if (!event.getGroup().equals("questhelper"))
+		{
+			return;
+		}
+
+		configSnapshot = new QuestHelperConfigSnapshot(config);
+		if (quests != null)
+		{
+			quests.values().forEach(quest -> quest.setConfigSnapshot(configSnapshot));
+		}
+
+		if (configEvents.contains(event.getKey()))
 		{
+			SwingUtilities.invokeLater(() -> panel.updateFilterDropdowns());
 			clientThread.invokeLater(this::updateQuestList);
 		}
 	}
@@ -379,19 +481,11 @@ public class QuestHelperPlugin extends Plugin
 	{
 		if (client.getGameState() == GameState.LOGGED_IN)
 		{
-			List<QuestHelper> filteredQuests = quests.values()
-				.stream()
-				.filter(config.filterListBy())
-				.filter(config.difficulty())
-				.filter(Quest::showCompletedQuests)
-				.sorted(config.orderListBy())
-				.collect(Collectors.toList());
-			Map<QuestHelperQuest, QuestState> completedQuests = quests.values()
-				.stream()
-				.collect(Collectors.toMap(QuestHelper::getQuest, q -> q.getState(client)));
-			SwingUtilities.invokeLater(() -> {
-				panel.refresh(filteredQuests, false, completedQuests);
-			});
+			QuestListModel.Snapshot snapshot = questListModel.update(quests.values(), config);
+			if (snapshot != null)
+			{
+				SwingUtilities.invokeLater(() -> panel.refresh(snapshot.getEntries(), false, snapshot.isHasMoreQuests()));
+			}
 		}
 	}
 
@@ -651,6 +745,16 @@ public class QuestHelperPlugin extends Plugin
 
 		if (!questHelper.isCompleted())
 		{
+			try
+			{
+				createInjector(questHelper);
+			}
+			catch (QuestInstantiationException ex)
+			{
+				log.warn("Error starting quest helper!", ex);
+				return;
+			}
+
 			selectedQuest = questHelper;
 			eventBus.register(selectedQuest);
 			if (isDeveloperMode())
@@ -667,7 +771,7 @@ public class QuestHelperPlugin extends Plugin
 			SwingUtilities.invokeLater(() -> {
 				panel.removeQuest();
 				panel.addQuest(questHelper, true);
-				clientThread.invokeLater(() -> panel.updateItemRequirements(client, bankItems));
+				clientThread.invokeLater(() -> panel.updateItemRequirements(requirementContext, bankItems));
 			});
 		}
 		else
@@ -677,6 +781,20 @@ public class QuestHelperPlugin extends Plugin
 		}
 	}
 
+	/**
+	 * Forget everything remembered about the requirements of the quest which was running, so none of it
+	 * carries over to the next quest.
+	 */
+	private void resetRequirementState()
+	{
+		requirementEvaluator.reset();
+		requirementContext.reset();
+		sceneObjectIndex.clear();
+		groundItemIndex.clear();
+		npcTracker.clear();
+		chatMatcher.clear();
+	}
+
 	public void shutDownQuestFromSidebar()
 	{
 		if (selectedQuest != null)
@@ -685,7 +803,9 @@ public class QuestHelperPlugin extends Plugin
 			bankTagsMain.shutDown();
 			SwingUtilities.invokeLater(() -> panel.removeQuest());
 			eventBus.unregister(selectedQuest);
+			selectedQuest.setInjector(null);
 			selectedQuest = null;
+			resetRequirementState();
 		}
 	}
 
@@ -704,7 +824,9 @@ public class QuestHelperPlugin extends Plugin
 			}
 			SwingUtilities.invokeLater(() -> panel.removeQuest());
 			eventBus.unregister(selectedQuest);
+			selectedQuest.setInjector(null);
 			selectedQuest = null;
+			resetRequirementState();
 		}
 	}
 
@@ -743,6 +865,7 @@ public class QuestHelperPlugin extends Plugin
 			quests.put(questDescriptor.quest(), questClass);
 		}
 
+		long start = System.nanoTime();
 		for (Map.Entry<QuestHelperQuest, Class<? extends QuestHelper>> questClazz : quests.entrySet())
 		{
 			QuestHelper questHelper;
@@ -758,6 +881,7 @@ public class QuestHelperPlugin extends Plugin
 
 			scannedQuests.put(questClazz.getKey().getName(), questHelper);
 		}
+		log.debug("Instantiated {} quest helpers in {}ms", scannedQuests.size(), (System.nanoTime() - start) / 1_000_000);
 
 		return scannedQuests;
 	}
@@ -767,7 +891,35 @@ public class QuestHelperPlugin extends Plugin
 		QuestHelper questHelper;
 		try
 		{
+			// Nothing is injected here. The helper is given what the quest list needs to check its state and
+			// requirements, and its members are injected once, by its own injector, when it is started.
 			questHelper = clazz.newInstance();
+			questHelper.setListDependencies(client, varSnapshot, questStateCache);
+			questHelper.setQuest(quest);
+			questHelper.setConfig(config);
+			questHelper.setConfigSnapshot(configSnapshot);
+		}
+		catch (InstantiationException | IllegalAccessException ex)
+		{
+			throw new QuestInstantiationException(ex);
+		}
+
+		log.debug("Loaded quest helper {}", clazz.getSimpleName());
+		return questHelper;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void createInjector(QuestHelper questHelper) throws QuestInstantiationException
+	{
+		if (questHelper.getInjector() != null)
+		{
+			return;
+		}
+
+		Class<QuestHelper> clazz = (Class<QuestHelper>) questHelper.getClass();
+		long start = System.nanoTime();
+		try
+		{
 			Module questModule = (Binder binder) ->
 			{
 				binder.bind(clazz).toInstance(questHelper);
@@ -776,15 +928,11 @@ public class QuestHelperPlugin extends Plugin
 			Injector questInjector = RuneLite.getInjector().createChildInjector(questModule);
 			questInjector.injectMembers(questHelper);
 			questHelper.setInjector(questInjector);
-			questHelper.setQuest(quest);
-			questHelper.setConfig(config);
 		}
-		catch (InstantiationException | IllegalAccessException | CreationException ex)
+		catch (CreationException ex)
 		{
 			throw new QuestInstantiationException(ex);
 		}
-
-		log.debug("Loaded quest helper {}", clazz.getSimpleName());
-		return questHelper;
+		log.debug("Created injector for {} in {}ms", clazz.getSimpleName(), (System.nanoTime() - start) / 1_000_000);
 	}
 }
@@ -25,6 +25,7 @@
 package com.questhelper;
 
 import com.questhelper.questhelpers.Quest;
+import com.questhelper.tracking.VarSnapshot;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -296,6 +297,14 @@ public enum QuestHelperQuest
 		}
 	}
 
+	/**
+	 * @return true if the quest's progress is kept in a varbit or varp
+	 */
+	public boolean hasVar()
+	{
+		return varbit != null || varPlayer != null;
+	}
+
 	public int getVar(Client client)
 	{
 		if (varbit != null)
@@ -311,4 +320,20 @@ public enum QuestHelperQuest
 			return -1;
 		}
 	}
+
+	public int getVar(VarSnapshot vars)
+	{
+		if (varbit != null)
+		{
+			return vars.getVarbitValue(varbit.getId());
+		}
+		else if (varPlayer != null)
+		{
+			return vars.getVarpValue(varPlayer.getId());
+		}
+		else
+		{
+			return -1;
+		}
+	}
 }
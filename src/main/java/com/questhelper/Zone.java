@@ -26,8 +26,10 @@
 package com.questhelper;
 
 import static net.runelite.api.Constants.REGION_SIZE;
+import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
 
+@Getter
 public class Zone
 {
 	private final int minX;
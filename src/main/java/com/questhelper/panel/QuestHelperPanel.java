@@ -28,9 +28,9 @@ import com.questhelper.BankItems;
 import com.questhelper.Icon;
 import com.questhelper.QuestHelperConfig;
 import com.questhelper.QuestHelperPlugin;
-import com.questhelper.QuestHelperQuest;
 import com.questhelper.questhelpers.Quest;
 import com.questhelper.questhelpers.QuestHelper;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
 import com.questhelper.steps.QuestStep;
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -38,10 +38,12 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.event.ItemEvent;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -49,21 +51,20 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.plaf.basic.BasicButtonUI;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import net.runelite.api.Client;
-import net.runelite.api.QuestState;
 import net.runelite.client.ui.ColorScheme;
-import net.runelite.client.ui.DynamicGridLayout;
 import net.runelite.client.ui.PluginPanel;
 import net.runelite.client.ui.components.IconTextField;
 import net.runelite.client.util.ImageUtil;
 import net.runelite.client.util.LinkBrowser;
 import net.runelite.client.util.SwingUtil;
-import net.runelite.client.util.Text;
 
 @Slf4j
 public class QuestHelperPanel extends PluginPanel
@@ -82,6 +83,16 @@ public class QuestHelperPanel extends PluginPanel
 	private final JScrollPane scrollableContainer;
 	private final int DROPDOWN_HEIGHT = 20;
 
+	/** How long, in milliseconds, to wait after the last keystroke before searching */
+	private static final int SEARCH_DELAY = 100;
+
+	private final QuestSearchIndex searchIndex = new QuestSearchIndex();
+	private final Timer searchTimer = new Timer(SEARCH_DELAY, e -> showMatchingQuests());
+
+	/** How long, in nanoseconds, the last search took to show its matching quests */
+	@Getter
+	private volatile long lastSearchTime;
+
 
 	private final ArrayList<QuestSelectPanel> questSelectPanels = new ArrayList<>();
 
@@ -177,9 +188,10 @@ public class QuestHelperPanel extends PluginPanel
 		searchQuestsPanel.add(allQuestsCompletedPanel, BorderLayout.SOUTH);
 
 		questListPanel.setBorder(new EmptyBorder(8, 10, 0, 10));
-		questListPanel.setLayout(new DynamicGridLayout(0, 1, 0, 5));
+		// Unlike a grid, a box layout leaves no space for the quests hidden by a search
+		questListPanel.setLayout(new BoxLayout(questListPanel, BoxLayout.Y_AXIS));
 		questListPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-		showMatchingQuests("");
+		searchTimer.setRepeats(false);
 
 		// Filters
 		filterDropdown = makeNewDropdown(QuestHelperConfig.QuestFilter.values(), "filterListBy");
@@ -231,8 +243,7 @@ public class QuestHelperPanel extends PluginPanel
 		if ((questOverviewPanel.currentQuest == null || !text.isEmpty()))
 		{
 			scrollableContainer.setViewportView(questListWrapper);
-			questSelectPanels.forEach(questListPanel::remove);
-			showMatchingQuests(text);
+			searchTimer.restart();
 		}
 		else
 		{
@@ -275,43 +286,53 @@ public class QuestHelperPanel extends PluginPanel
 		return filtersPanel;
 	}
 
-	private void showMatchingQuests(String text)
+	private void showMatchingQuests()
 	{
-		if (text.isEmpty())
+		searchTimer.stop();
+		long start = System.nanoTime();
+
+		BitSet matches = searchIndex.search(searchBar.getText() != null ? searchBar.getText() : "");
+		for (QuestSelectPanel questSelectPanel : questSelectPanels)
 		{
-			questSelectPanels.forEach(questListPanel::add);
-			return;
+			questSelectPanel.setVisible(matches == null || matches.get(questSelectPanel.getQuestHelper().getQuest().ordinal()));
 		}
+		questListPanel.revalidate();
+		questListPanel.repaint();
 
-		final String[] searchTerms = text.toLowerCase().split(" ");
-
-		questSelectPanels.forEach(listItem ->
-		{
-			if (Text.matchesSearchTerms(Arrays.asList(searchTerms), listItem.getKeywords()))
-			{
-				questListPanel.add(listItem);
-			}
-		});
+		lastSearchTime = System.nanoTime() - start;
 	}
 
-	public void refresh(List<QuestHelper> questHelpers, boolean loggedOut, Map<QuestHelperQuest, QuestState> completedQuests)
+	/**
+	 * Show the given quests in the quest list. Rows are only created for quests which weren't already listed, or
+	 * whose state has changed, and the list is only laid out again if the rows or their order have changed.
+	 */
+	public void refresh(List<QuestListModel.Entry> entries, boolean loggedOut, boolean hasMoreQuests)
 	{
-		questSelectPanels.forEach(questListPanel::remove);
-		questSelectPanels.clear();
+		updateFilterDropdowns();
 
-		filterDropdown.setSelectedItem(questHelperPlugin.getConfig().filterListBy());
-		difficultyDropdown.setSelectedItem(questHelperPlugin.getConfig().difficulty());
-		orderDropdown.setSelectedItem(questHelperPlugin.getConfig().orderListBy());
+		Map<QuestHelper, QuestSelectPanel> existingPanels = new IdentityHashMap<>();
+		questSelectPanels.forEach(questSelectPanel -> existingPanels.put(questSelectPanel.getQuestHelper(), questSelectPanel));
 
-		for (QuestHelper questHelper : questHelpers)
+		List<QuestSelectPanel> newPanels = new ArrayList<>(entries.size());
+		for (QuestListModel.Entry entry : entries)
 		{
-			QuestState questState = completedQuests.getOrDefault(questHelper.getQuest(), QuestState.NOT_STARTED);
-			questSelectPanels.add(new QuestSelectPanel(questHelperPlugin, this, questHelper, questState));
+			QuestSelectPanel questSelectPanel = existingPanels.get(entry.getQuest());
+			if (questSelectPanel == null || questSelectPanel.getQuestState() != entry.getState())
+			{
+				questSelectPanel = new QuestSelectPanel(questHelperPlugin, this, entry.getQuest(), entry.getState());
+			}
+			newPanels.add(questSelectPanel);
 		}
 
+		boolean listChanged = !newPanels.equals(questSelectPanels);
+		if (listChanged)
+		{
+			questSelectPanels.forEach(questListPanel::remove);
+			questSelectPanels.clear();
+			questSelectPanels.addAll(newPanels);
+			questSelectPanels.forEach(questListPanel::add);
+		}
 
-		Set<QuestHelperQuest> quests = completedQuests.keySet();
-		boolean hasMoreQuests = quests.stream().anyMatch(q -> completedQuests.get(q) != QuestState.FINISHED);
 		if (questSelectPanels.isEmpty() && hasMoreQuests)
 		{
 			allQuestsCompletedPanel.removeAll();
@@ -331,7 +352,17 @@ public class QuestHelperPanel extends PluginPanel
 
 		repaint();
 		revalidate();
-		showMatchingQuests(searchBar.getText() != null ? searchBar.getText() : "");
+		if (listChanged)
+		{
+			showMatchingQuests();
+		}
+	}
+
+	public void updateFilterDropdowns()
+	{
+		filterDropdown.setSelectedItem(questHelperPlugin.getConfig().filterListBy());
+		difficultyDropdown.setSelectedItem(questHelperPlugin.getConfig().difficulty());
+		orderDropdown.setSelectedItem(questHelperPlugin.getConfig().orderListBy());
 	}
 
 	public void addQuest(QuestHelper quest, boolean isActive)
@@ -345,25 +376,17 @@ public class QuestHelperPanel extends PluginPanel
 		revalidate();
 	}
 
-	public void updateSteps()
-	{
-		questOverviewPanel.updateSteps();
-	}
-
-	public void updateHighlight(QuestStep newStep)
+	/**
+	 * Update the overview's step text, highlight and locks from the quest's current state. The model is built on
+	 * the calling client thread, and only handed to the EDT when something in it has changed.
+	 */
+	public void updateOverview(QuestHelper quest, QuestStep currentStep)
 	{
-		questOverviewPanel.updateHighlight(newStep);
-
-		repaint();
-		revalidate();
-	}
-
-	public void updateLocks()
-	{
-		questOverviewPanel.updateLocks();
-
-		repaint();
-		revalidate();
+		QuestOverviewModel model = questOverviewPanel.buildModel(quest, currentStep);
+		if (model != null)
+		{
+			SwingUtilities.invokeLater(() -> questOverviewPanel.applyModel(model));
+		}
 	}
 
 	public void removeQuest()
@@ -381,8 +404,21 @@ public class QuestHelperPanel extends PluginPanel
 		searchBar.setText("");
 	}
 
-	public void updateItemRequirements(Client client, BankItems bankItems)
+	public void updateItemRequirements(RequirementEvaluationContext context, BankItems bankItems)
 	{
-		questOverviewPanel.updateRequirements(client, bankItems);
+		questOverviewPanel.updateRequirements(context, bankItems);
+	}
+
+	/**
+	 * Recolour only the requirements which accept one of the changed items. The colours are worked out on the
+	 * calling client thread, then set in a single task on the EDT.
+	 */
+	public void updateItemRequirements(RequirementEvaluationContext context, BankItems bankItems, Collection<Integer> changedItemIds)
+	{
+		Map<QuestRequirementPanel, Color> colors = questOverviewPanel.getRequirementColors(context, changedItemIds, bankItems);
+		if (!colors.isEmpty())
+		{
+			SwingUtilities.invokeLater(() -> questOverviewPanel.setRequirementColors(colors));
+		}
 	}
 }
@@ -0,0 +1,200 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.panel;
+
+import com.questhelper.QuestHelperConfig;
+import com.questhelper.questhelpers.Quest;
+import com.questhelper.questhelpers.QuestHelper;
+import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementEvaluator;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Value;
+import net.runelite.api.Client;
+import net.runelite.api.QuestState;
+
+/**
+ * The quests shown in the quest selection list, kept between updates so the list isn't worked out from scratch
+ * every time a filter changes or the player logs in.<br>
+ * The quests are only sorted again when the ordering changes, and whether the player meets a quest's general
+ * requirements is only checked again once one of the inputs those requirements read has changed. The requirements
+ * themselves are checked through the {@link RequirementEvaluator}, so requirements reading vars through the var
+ * snapshot are only checked again when their own vars change. Each quest's state comes from the quest state cache,
+ * so only quests whose progress has changed run the quest script.
+ */
+@Singleton
+public class QuestListModel
+{
+	@Value
+	public static class Entry
+	{
+		QuestHelper quest;
+		QuestState state;
+	}
+
+	@Value
+	public static class Snapshot
+	{
+		/** The quests to show, in order */
+		List<Entry> entries;
+
+		/** Whether any quest, shown or not, hasn't been finished */
+		boolean hasMoreQuests;
+	}
+
+	private static class MeetsRequirements
+	{
+		/** Quests create new requirements each time they're asked, so they're only asked once */
+		private final List<Requirement> requirements;
+		private final Set<RequirementInput> inputs;
+		private boolean meetsRequirements;
+		private long checkedAt = -1;
+
+		private MeetsRequirements(List<Requirement> requirements)
+		{
+			this.requirements = requirements;
+			this.inputs = RequirementInput.combined(requirements);
+		}
+	}
+
+	private final Client client;
+	private final RequirementEvaluator evaluator;
+	private final RequirementEvaluationContext context;
+
+	private final Map<QuestHelper, MeetsRequirements> meetsRequirements = new IdentityHashMap<>();
+
+	private List<QuestHelper> sortedQuests;
+	private QuestHelperConfig.QuestOrdering sortedBy;
+
+	private Snapshot published;
+
+	@Inject
+	public QuestListModel(Client client, RequirementEvaluator evaluator, RequirementEvaluationContext context)
+	{
+		this.client = client;
+		this.evaluator = evaluator;
+		this.context = context;
+	}
+
+	/**
+	 * Work out which quests should be listed. This must be called on the client thread.
+	 *
+	 * @param quests every loaded quest helper
+	 * @param config the config holding the list's filters and ordering
+	 * @return the quests to list, or null if they're the same as the last snapshot returned
+	 */
+	public Snapshot update(Collection<QuestHelper> quests, QuestHelperConfig config)
+	{
+		QuestHelperConfig.QuestOrdering ordering = config.orderListBy();
+		if (sortedQuests == null || sortedBy != ordering || sortedQuests.size() != quests.size())
+		{
+			sortedQuests = ordering.sort(quests);
+			sortedBy = ordering;
+		}
+
+		QuestHelperConfig.QuestFilter filter = config.filterListBy();
+		Quest.Difficulty difficulty = config.difficulty();
+		boolean showCompletedQuests = config.showCompletedQuests();
+
+		List<Entry> entries = new ArrayList<>();
+		boolean hasMoreQuests = false;
+		for (QuestHelper quest : sortedQuests)
+		{
+			QuestState state = quest.getState(client);
+			boolean finished = state == QuestState.FINISHED;
+			hasMoreQuests |= !finished;
+
+			// Cheapest checks first, so requirements are only checked for quests which could be shown
+			if (finished && !showCompletedQuests || !difficulty.test(quest))
+			{
+				continue;
+			}
+
+			boolean shown = filter == QuestHelperConfig.QuestFilter.SHOW_MEETS_REQS
+				? meetsRequirements(quest)
+				: filter.test(quest);
+			if (shown)
+			{
+				entries.add(new Entry(quest, state));
+			}
+		}
+
+		Snapshot snapshot = new Snapshot(entries, hasMoreQuests);
+		if (snapshot.equals(published))
+		{
+			return null;
+		}
+		published = snapshot;
+		return snapshot;
+	}
+
+	/**
+	 * Forget the last snapshot returned, so the next update returns one even if nothing has changed. This should
+	 * be called when the panel's list has been emptied.
+	 */
+	public void clear()
+	{
+		published = null;
+	}
+
+	private boolean meetsRequirements(QuestHelper quest)
+	{
+		MeetsRequirements result = meetsRequirements.computeIfAbsent(quest, q -> new MeetsRequirements(generalRequirements(q)));
+		if (result.requirements.isEmpty())
+		{
+			return true;
+		}
+
+		if (result.checkedAt < 0 || evaluator.mayHaveChangedSince(result.inputs, result.checkedAt))
+		{
+			result.checkedAt = evaluator.getChangeCount();
+			result.meetsRequirements = result.requirements.stream().allMatch(context::check);
+		}
+		return result.meetsRequirements;
+	}
+
+	private static List<Requirement> generalRequirements(QuestHelper quest)
+	{
+		List<Requirement> requirements = quest.getGeneralRequirements();
+		if (requirements == null)
+		{
+			return Collections.emptyList();
+		}
+		return requirements.stream().filter(Objects::nonNull).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.panel;
+
+import com.questhelper.steps.QuestStep;
+import java.util.List;
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * What the quest overview should show for the current tick, built on the client thread from the quest's steps so
+ * the EDT only has to apply what differs from the model it last applied.
+ */
+@Value
+public class QuestOverviewModel
+{
+	/** The step panels the model was built for, so a model built before the quest changed isn't applied */
+	List<QuestStepPanel> panels;
+
+	/** The model of each of {@link #panels}, in the same order */
+	List<StepPanel> panelModels;
+
+	@Value
+	public static class StepPanel
+	{
+		/** The text of each step shown in the panel */
+		Map<QuestStep, String> stepTexts;
+
+		/** The step in the panel to highlight as the current step, or null if the current step isn't in the panel */
+		QuestStep highlightedStep;
+
+		boolean lockable;
+		boolean unlockable;
+		boolean locked;
+	}
+}
@@ -31,6 +31,8 @@ import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.requirements.item.ItemRequirement;
 import com.questhelper.requirements.item.NoItemRequirement;
 import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.steps.DetailedQuestStep;
 import com.questhelper.steps.QuestStep;
 import java.awt.BorderLayout;
@@ -40,7 +42,13 @@ import java.awt.GridLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
@@ -49,7 +57,6 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.border.EmptyBorder;
 import javax.swing.plaf.basic.BasicButtonUI;
-import net.runelite.api.Client;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.DynamicGridLayout;
 import net.runelite.client.ui.PluginPanel;
@@ -92,6 +99,27 @@ public class QuestOverviewPanel extends JPanel
 
 	private final List<QuestRequirementPanel> requirementPanels = new ArrayList<>();
 
+	/**
+	 * The item requirement panels of the overview and every step panel, by each item id their requirement accepts.
+	 * This is built on the EDT but read on the client thread, so it is replaced rather than modified.
+	 */
+	private volatile Map<Integer, List<QuestRequirementPanel>> itemRequirementPanels = Collections.emptyMap();
+
+	/**
+	 * The panels of other requirements which read the inventory or equipment, or can't tell what they read, so are
+	 * recoloured on any inventory change. Replaced rather than modified, like {@link #itemRequirementPanels}.
+	 */
+	private volatile List<QuestRequirementPanel> inventoryDependentPanels = Collections.emptyList();
+
+	/** {@link #questStepPanelList} once the quest has been added, for building the overview's model on the client thread */
+	private volatile List<QuestStepPanel> stepPanels = Collections.emptyList();
+
+	/** The last model built, only used on the client thread */
+	private QuestOverviewModel builtModel;
+
+	/** The last model applied, only used on the EDT */
+	private QuestOverviewModel appliedModel;
+
 	public QuestOverviewPanel(QuestHelperPlugin questHelperPlugin)
 	{
 		super();
@@ -248,58 +276,97 @@ public class QuestOverviewPanel extends JPanel
 				repaint();
 				revalidate();
 			}
+			indexItemRequirementPanels();
+			stepPanels = Collections.unmodifiableList(new ArrayList<>(questStepPanelList));
 		}
 	}
 
-	public void updateSteps()
+	private void indexItemRequirementPanels()
 	{
-		if (questStepPanelList == null)
+		List<QuestRequirementPanel> allPanels = new ArrayList<>(requirementPanels);
+		for (QuestStepPanel questStepPanel : questStepPanelList)
 		{
-			return;
+			allPanels.addAll(questStepPanel.getRequirementPanels());
 		}
-		questStepPanelList.forEach(panel -> {
-			for (QuestStep step : panel.getSteps())
-			{
-				JLabel label = panel.getStepsLabels().get(step);
-				if (label != null)
-				{
-					label.setText(panel.generateText(step));
-				}
-			}
-		});
-	}
 
-	public void updateHighlight(QuestStep newStep)
-	{
-		questStepPanelList.forEach(panel -> {
-			boolean highlighted = false;
-			panel.setLockable(panel.panelDetails.getLockingQuestSteps() != null &&
-				(panel.panelDetails.getVars() == null || panel.panelDetails.getVars().contains(currentQuest.getVar())));
-			for (QuestStep step : panel.getSteps())
+		Map<Integer, List<QuestRequirementPanel>> panelsByItemId = new HashMap<>();
+		List<QuestRequirementPanel> dependentPanels = new ArrayList<>();
+		for (QuestRequirementPanel requirementPanel : allPanels)
+		{
+			Requirement requirement = requirementPanel.getRequirement();
+			if (requirement instanceof ItemRequirement)
 			{
-				if (step == newStep || step.getSubsteps().contains(newStep))
+				for (int itemId : ((ItemRequirement) requirement).getAllIds())
 				{
-					highlighted = true;
-					panel.updateHighlight(step);
-					break;
+					panelsByItemId.computeIfAbsent(itemId, k -> new ArrayList<>()).add(requirementPanel);
 				}
 			}
-			if (!highlighted)
+			else if (readsInventory(requirement))
 			{
-				panel.removeHighlight();
+				dependentPanels.add(requirementPanel);
 			}
-		});
+		}
+		itemRequirementPanels = panelsByItemId;
+		inventoryDependentPanels = dependentPanels;
+	}
 
-		repaint();
-		revalidate();
+	private static boolean readsInventory(Requirement requirement)
+	{
+		Set<RequirementInput> inputs = requirement.getInputs();
+		return inputs.contains(RequirementInput.INVENTORY) || inputs.contains(RequirementInput.EQUIPMENT)
+			|| inputs.contains(RequirementInput.UNKNOWN);
 	}
 
-	public void updateLocks()
+	/**
+	 * Build the model of the overview for the current tick. This reads the state of the quest's steps, so has to be
+	 * called on the client thread.
+	 *
+	 * @return the model, or null if nothing has changed since the last model was built
+	 */
+	public QuestOverviewModel buildModel(QuestHelper quest, QuestStep currentStep)
 	{
-		questStepPanelList.forEach(QuestStepPanel::updateLock);
+		List<QuestStepPanel> panels = stepPanels;
+		List<QuestOverviewModel.StepPanel> panelModels = new ArrayList<>(panels.size());
+		int questVar = quest.getVar();
+		for (QuestStepPanel panel : panels)
+		{
+			panelModels.add(panel.buildModel(currentStep, questVar));
+		}
 
-		repaint();
-		revalidate();
+		QuestOverviewModel model = new QuestOverviewModel(panels, panelModels);
+		if (model.equals(builtModel))
+		{
+			return null;
+		}
+		builtModel = model;
+		return model;
+	}
+
+	/**
+	 * Apply the parts of the model which differ from the model last applied. This must be called on the EDT.
+	 */
+	public void applyModel(QuestOverviewModel model)
+	{
+		if (model.getPanels() != stepPanels)
+		{
+			// Built for a quest which has since been removed
+			return;
+		}
+
+		QuestOverviewModel previous = appliedModel != null && appliedModel.getPanels() == model.getPanels() ? appliedModel : null;
+		boolean highlightChanged = false;
+		for (int i = 0; i < model.getPanels().size(); i++)
+		{
+			QuestOverviewModel.StepPanel previousPanel = previous == null ? null : previous.getPanelModels().get(i);
+			highlightChanged |= model.getPanels().get(i).applyModel(model.getPanelModels().get(i), previousPanel);
+		}
+		appliedModel = model;
+
+		if (highlightChanged)
+		{
+			repaint();
+			revalidate();
+		}
 	}
 
 	public void removeQuest()
@@ -312,6 +379,12 @@ public class QuestOverviewPanel extends JPanel
 		questItemRequirementsListPanel.removeAll();
 		questItemRecommendedListPanel.removeAll();
 		questCombatRequirementsListPanel.removeAll();
+		questStepPanelList.clear();
+		requirementPanels.clear();
+		itemRequirementPanels = Collections.emptyMap();
+		inventoryDependentPanels = Collections.emptyList();
+		stepPanels = Collections.emptyList();
+		appliedModel = null;
 		currentQuest = null;
 		questOverviewNotesPanel.removeAll();
 		repaint();
@@ -478,50 +551,88 @@ public class QuestOverviewPanel extends JPanel
 		return new Dimension(PluginPanel.PANEL_WIDTH, super.getPreferredSize().height);
 	}
 
-	public void updateRequirements(Client client, BankItems bankItems)
+	public void updateRequirements(RequirementEvaluationContext context, BankItems bankItems)
 	{
-		updateRequirementPanels(client, requirementPanels, bankItems);
+		updateRequirementPanels(context, requirementPanels, bankItems);
 
 		for (QuestStepPanel questStepPanel : questStepPanelList)
 		{
-			questStepPanel.updateRequirements(client, bankItems, this);
+			questStepPanel.updateRequirements(context, bankItems, this);
 		}
 		revalidate();
 	}
 
-	public void updateRequirementPanels(Client client, List<QuestRequirementPanel> reqPanels, BankItems bankItems)
+	public void updateRequirementPanels(RequirementEvaluationContext context, List<QuestRequirementPanel> reqPanels, BankItems bankItems)
 	{
 		for (QuestRequirementPanel requirementPanel : reqPanels)
 		{
-			Color newColor;
+			setRequirementColor(requirementPanel, getRequirementColor(context, requirementPanel, bankItems));
+		}
+	}
 
-			if (requirementPanel.getRequirement() instanceof ItemRequirement)
+	/**
+	 * Work out the new colour of only the item requirement panels which accept one of the changed items, and of
+	 * the other requirement panels which read the inventory.
+	 * This checks the requirements, so has to be called on the client thread.
+	 *
+	 * @return the new colour of each affected panel, to be set with {@link #setRequirementColors(Map)} on the EDT
+	 */
+	public Map<QuestRequirementPanel, Color> getRequirementColors(RequirementEvaluationContext context,
+		Collection<Integer> changedItemIds, BankItems bankItems)
+	{
+		Map<Integer, List<QuestRequirementPanel>> panelsByItemId = itemRequirementPanels;
+		Map<QuestRequirementPanel, Color> colors = new IdentityHashMap<>();
+		for (int itemId : changedItemIds)
+		{
+			for (QuestRequirementPanel requirementPanel : panelsByItemId.getOrDefault(itemId, Collections.emptyList()))
 			{
-				ItemRequirement itemRequirement = (ItemRequirement) requirementPanel.getRequirement();
-				if (itemRequirement instanceof NoItemRequirement)
-				{
-					newColor = itemRequirement.getColor(client); // explicitly call this because NoItemRequirement overrides it
-				}
-				else
+				if (!colors.containsKey(requirementPanel))
 				{
-					newColor = itemRequirement.getColorConsideringBank(client, false, bankItems.getItems());
+					colors.put(requirementPanel, getRequirementColor(context, requirementPanel, bankItems));
 				}
 			}
-			else
-			{
-				newColor = requirementPanel.getRequirement().getColor(client);
-			}
+		}
 
-			if (newColor == Color.WHITE)
+		if (!changedItemIds.isEmpty())
+		{
+			for (QuestRequirementPanel requirementPanel : inventoryDependentPanels)
 			{
-				requirementPanel.getLabel().setToolTipText("In bank");
+				colors.put(requirementPanel, getRequirementColor(context, requirementPanel, bankItems));
 			}
-			else
+		}
+		return colors;
+	}
+
+	public void setRequirementColors(Map<QuestRequirementPanel, Color> colors)
+	{
+		colors.forEach(this::setRequirementColor);
+	}
+
+	private Color getRequirementColor(RequirementEvaluationContext context, QuestRequirementPanel requirementPanel, BankItems bankItems)
+	{
+		if (requirementPanel.getRequirement() instanceof ItemRequirement)
+		{
+			ItemRequirement itemRequirement = (ItemRequirement) requirementPanel.getRequirement();
+			if (itemRequirement instanceof NoItemRequirement)
 			{
-				requirementPanel.getLabel().setToolTipText("");
+				return itemRequirement.getColor(context); // explicitly call this because NoItemRequirement overrides it
 			}
+			return itemRequirement.getColorConsideringBank(context, false, bankItems.getItems());
+		}
+		return requirementPanel.getRequirement().getColor(context);
+	}
 
-			requirementPanel.getLabel().setForeground(newColor);
+	private void setRequirementColor(QuestRequirementPanel requirementPanel, Color newColor)
+	{
+		if (newColor == Color.WHITE)
+		{
+			requirementPanel.getLabel().setToolTipText("In bank");
 		}
+		else
+		{
+			requirementPanel.getLabel().setToolTipText("");
+		}
+
+		requirementPanel.getLabel().setForeground(newColor);
 	}
 }
@@ -0,0 +1,178 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.panel;
+
+import com.questhelper.QuestHelperQuest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.client.util.Text;
+
+/**
+ * An index of every quest's search keywords, built once, so a search only looks at the keywords rather than at
+ * every quest in the list.<br>
+ * A term matches a keyword the same way as {@link Text#matchesSearchTerms}: if the keyword contains the term, or is
+ * close enough to it. Every suffix of every keyword is kept in sorted order, so the keywords containing a term are
+ * found by a binary search for the suffixes starting with it. The keywords which don't contain the term are still
+ * compared with it for closeness, so each new term looks at every keyword once; after that its matches are
+ * remembered.
+ */
+public class QuestSearchIndex
+{
+	private static final QuestHelperQuest[] QUESTS = QuestHelperQuest.values();
+
+	/** How many terms' matches are remembered, as a search is usually typed one letter at a time */
+	private static final int MAX_CACHED_TERMS = 256;
+
+	private final String[] keywords;
+
+	/** The quests with each of {@link #keywords}, by ordinal */
+	private final BitSet[] keywordQuests;
+
+	private final String[] suffixes;
+
+	/** The index in {@link #keywords} of the keyword each of {@link #suffixes} is from */
+	private final int[] suffixKeywords;
+
+	private final Map<String, BitSet> termMatches = new HashMap<>();
+
+	public QuestSearchIndex()
+	{
+		Map<String, BitSet> questsByKeyword = new LinkedHashMap<>();
+		for (QuestHelperQuest quest : QUESTS)
+		{
+			for (String keyword : quest.getKeywords())
+			{
+				questsByKeyword.computeIfAbsent(keyword, k -> new BitSet(QUESTS.length)).set(quest.ordinal());
+			}
+		}
+
+		keywords = questsByKeyword.keySet().toArray(new String[0]);
+		keywordQuests = questsByKeyword.values().toArray(new BitSet[0]);
+
+		List<Suffix> allSuffixes = new ArrayList<>();
+		for (int i = 0; i < keywords.length; i++)
+		{
+			for (int start = 0; start < keywords[i].length(); start++)
+			{
+				allSuffixes.add(new Suffix(keywords[i].substring(start), i));
+			}
+		}
+		allSuffixes.sort((a, b) -> a.text.compareTo(b.text));
+
+		suffixes = new String[allSuffixes.size()];
+		suffixKeywords = new int[allSuffixes.size()];
+		for (int i = 0; i < suffixes.length; i++)
+		{
+			suffixes[i] = allSuffixes.get(i).text;
+			suffixKeywords[i] = allSuffixes.get(i).keyword;
+		}
+	}
+
+	/**
+	 * @param text the text in the search bar
+	 * @return the ordinals of the {@link QuestHelperQuest}s which match every term in the text, or null if the text
+	 * has no terms and every quest matches
+	 */
+	public BitSet search(String text)
+	{
+		BitSet matches = null;
+		for (String term : text.toLowerCase().split(" "))
+		{
+			// An empty term is contained in every keyword
+			if (term.isEmpty())
+			{
+				continue;
+			}
+
+			if (matches == null)
+			{
+				matches = (BitSet) getTermMatches(term).clone();
+			}
+			else
+			{
+				matches.and(getTermMatches(term));
+			}
+		}
+		return matches;
+	}
+
+	private BitSet getTermMatches(String term)
+	{
+		BitSet matches = termMatches.get(term);
+		if (matches != null)
+		{
+			return matches;
+		}
+
+		BitSet matchedKeywords = new BitSet(keywords.length);
+		int index = Arrays.binarySearch(suffixes, term);
+		for (int i = index < 0 ? -index - 1 : index; i < suffixes.length && suffixes[i].startsWith(term); i++)
+		{
+			matchedKeywords.set(suffixKeywords[i]);
+		}
+
+		for (int i = 0; i < keywords.length; i++)
+		{
+			if (!matchedKeywords.get(i)
+				&& Text.matchesSearchTerms(Collections.singletonList(term), Collections.singletonList(keywords[i])))
+			{
+				matchedKeywords.set(i);
+			}
+		}
+
+		matches = new BitSet(QUESTS.length);
+		for (int i = matchedKeywords.nextSetBit(0); i >= 0; i = matchedKeywords.nextSetBit(i + 1))
+		{
+			matches.or(keywordQuests[i]);
+		}
+
+		if (termMatches.size() >= MAX_CACHED_TERMS)
+		{
+			termMatches.clear();
+		}
+		termMatches.put(term, matches);
+		return matches;
+	}
+
+	private static class Suffix
+	{
+		private final String text;
+		private final int keyword;
+
+		private Suffix(String text, int keyword)
+		{
+			this.text = text;
+			this.keyword = keyword;
+		}
+	}
+}
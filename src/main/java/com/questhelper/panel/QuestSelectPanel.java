@@ -37,6 +37,7 @@ import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.border.EmptyBorder;
 import lombok.Getter;
 import net.runelite.api.QuestState;
 import net.runelite.client.ui.PluginPanel;
@@ -49,16 +50,22 @@ public class QuestSelectPanel extends JPanel
 	@Getter
 	private final QuestHelper questHelper;
 
+	@Getter
+	private final QuestState questState;
+
 	private static final ImageIcon START_ICON = Icon.START.getIcon();
 
 	public QuestSelectPanel(QuestHelperPlugin questHelperPlugin, QuestHelperPanel questHelperPanel, QuestHelper questHelper, QuestState questState)
 	{
 		this.questHelper = questHelper;
+		this.questState = questState;
 
 		keywords.addAll(questHelper.getQuest().getKeywords());
 
 		setLayout(new BorderLayout(3, 0));
-		setPreferredSize(new Dimension(PluginPanel.PANEL_WIDTH, 20));
+		// The gap below each quest in the list
+		setBorder(new EmptyBorder(0, 0, 5, 0));
+		setPreferredSize(new Dimension(PluginPanel.PANEL_WIDTH, 25));
 
 		JLabel nameLabel = new JLabel(questHelper.getQuest().getName());
 		Color color = questState == QuestState.FINISHED ? Color.GREEN : (questState == QuestState.IN_PROGRESS ? new Color(240, 207, 123) : Color.WHITE);
@@ -27,6 +27,7 @@ package com.questhelper.panel;
 import com.questhelper.BankItems;
 import com.questhelper.requirements.AbstractRequirement;
 import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
@@ -36,7 +37,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import com.questhelper.steps.QuestStep;
 import java.util.List;
-import net.runelite.api.Client;
+import java.util.Map;
 import net.runelite.client.ui.ColorScheme;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -210,6 +211,11 @@ public class QuestStepPanel extends JPanel
 		return steps;
 	}
 
+	public List<QuestRequirementPanel> getRequirementPanels()
+	{
+		return requirementPanels;
+	}
+
 	public void setLockable(boolean canLock)
 	{
 		lockStep.setVisible(canLock);
@@ -256,14 +262,80 @@ public class QuestStepPanel extends JPanel
 		}
 	}
 
-	public void updateLock()
+	/**
+	 * Build the model of this panel for the current tick. This reads the state of the quest's steps, so has to be
+	 * called on the client thread.
+	 */
+	QuestOverviewModel.StepPanel buildModel(QuestStep currentStep, int questVar)
 	{
-		if (panelDetails.getLockingQuestSteps() == null)
+		Map<QuestStep, String> stepTexts = new HashMap<>();
+		QuestStep highlightedStep = null;
+		for (QuestStep step : panelDetails.getSteps())
 		{
-			return;
+			if (steps.get(step) != null)
+			{
+				stepTexts.put(step, generateText(step));
+			}
+			if (highlightedStep == null && (step == currentStep || step.getSubsteps().contains(currentStep)))
+			{
+				highlightedStep = step;
+			}
 		}
 
-		if (panelDetails.getLockingQuestSteps().isUnlockable())
+		QuestStep lockingStep = panelDetails.getLockingQuestSteps();
+		boolean lockable = lockingStep != null && (panelDetails.getVars() == null || panelDetails.getVars().contains(questVar));
+		// isLocked() updates whether the step is unlockable, so read that first as the panel always has
+		boolean unlockable = lockingStep != null && lockingStep.isUnlockable();
+		boolean locked = lockingStep != null && lockingStep.isLocked();
+
+		return new QuestOverviewModel.StepPanel(stepTexts, highlightedStep, lockable, unlockable, locked);
+	}
+
+	/**
+	 * Apply the parts of the model which differ from the previous model applied to this panel.
+	 *
+	 * @param previous the model last applied, or null to apply all of it
+	 * @return true if the highlighted step changed
+	 */
+	boolean applyModel(QuestOverviewModel.StepPanel model, QuestOverviewModel.StepPanel previous)
+	{
+		model.getStepTexts().forEach((step, text) -> {
+			if (previous == null || !text.equals(previous.getStepTexts().get(step)))
+			{
+				steps.get(step).setText(text);
+			}
+		});
+
+		if (previous == null || model.isLockable() != previous.isLockable())
+		{
+			setLockable(model.isLockable());
+		}
+
+		if (panelDetails.getLockingQuestSteps() != null && (previous == null
+			|| model.isUnlockable() != previous.isUnlockable() || model.isLocked() != previous.isLocked()))
+		{
+			updateLock(model.isUnlockable(), model.isLocked());
+		}
+
+		if (previous != null && model.getHighlightedStep() == previous.getHighlightedStep())
+		{
+			return false;
+		}
+
+		if (model.getHighlightedStep() == null)
+		{
+			removeHighlight();
+		}
+		else
+		{
+			updateHighlight(model.getHighlightedStep());
+		}
+		return true;
+	}
+
+	private void updateLock(boolean unlockable, boolean locked)
+	{
+		if (unlockable)
 		{
 			stepAutoLocked = false;
 			lockStep.setEnabled(true);
@@ -278,7 +350,7 @@ public class QuestStepPanel extends JPanel
 			lockStep.setEnabled(false);
 		}
 
-		if (panelDetails.getLockingQuestSteps().isLocked())
+		if (locked)
 		{
 			lockStep.setSelected(true);
 		}
@@ -337,8 +409,8 @@ public class QuestStepPanel extends JPanel
 		}
 	}
 
-	public void updateRequirements(Client client, BankItems bankItems, QuestOverviewPanel questOverviewPanel)
+	public void updateRequirements(RequirementEvaluationContext context, BankItems bankItems, QuestOverviewPanel questOverviewPanel)
 	{
-		questOverviewPanel.updateRequirementPanels(client, requirementPanels, bankItems);
+		questOverviewPanel.updateRequirementPanels(context, requirementPanels, bankItems);
 	}
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ import com.google.inject.CreationException;
 import com.google.inject.Injector;
 import com.google.inject.Module;
 import com.questhelper.QuestHelperConfig;
+import com.questhelper.QuestHelperConfigSnapshot;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.QuestHelperQuest;
 import com.questhelper.panel.PanelDetails;
@@ -43,9 +44,11 @@ import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.Client;
 import net.runelite.api.QuestState;
-import net.runelite.client.eventbus.EventBus;
+import com.questhelper.steps.StepEventRouter;
 import com.questhelper.steps.OwnerStep;
 import com.questhelper.steps.QuestStep;
+import com.questhelper.tracking.QuestStateCache;
+import com.questhelper.tracking.VarSnapshot;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.overlay.components.LineComponent;
 import net.runelite.client.ui.overlay.components.PanelComponent;
@@ -59,8 +62,20 @@ public abstract class QuestHelper implements Module, QuestDebugRenderer
 	@Setter
 	protected QuestHelperConfig config;
 
+	/**
+	 * The config values read while rendering. Set by the plugin whenever the config changes.
+	 */
+	@Setter
+	private QuestHelperConfigSnapshot configSnapshot;
+
+	@Inject
+	private StepEventRouter stepEventRouter;
+
+	@Inject
+	private VarSnapshot vars;
+
 	@Inject
-	private EventBus eventBus;
+	private QuestStateCache questStateCache;
 
 	@Getter
 	private QuestStep currentStep;
@@ -69,6 +84,11 @@ public abstract class QuestHelper implements Module, QuestDebugRenderer
 	@Setter
 	private QuestHelperQuest quest;
 
+	/**
+	 * The injector for the helper's steps. Only created by the plugin while the helper is running, as building one
+	 * for every helper is most of the cost of loading them.
+	 */
+	@Getter
 	@Setter
 	private Injector injector;
 
@@ -77,6 +97,26 @@ public abstract class QuestHelper implements Module, QuestDebugRenderer
 	{
 	}
 
+	/**
+	 * Give the helper what the quest list reads before the helper is started, so it doesn't need injecting until
+	 * then. Its members, these included, are injected by its own injector when it is started.
+	 */
+	public void setListDependencies(Client client, VarSnapshot vars, QuestStateCache questStateCache)
+	{
+		this.client = client;
+		this.vars = vars;
+		this.questStateCache = questStateCache;
+	}
+
+	public QuestHelperConfigSnapshot getConfigSnapshot()
+	{
+		if (configSnapshot == null)
+		{
+			configSnapshot = new QuestHelperConfigSnapshot(config);
+		}
+		return configSnapshot;
+	}
+
 	public abstract void startUp(QuestHelperConfig config);
 
 	public abstract void shutDown();
@@ -91,7 +131,7 @@ public abstract class QuestHelper implements Module, QuestDebugRenderer
 		{
 			currentStep = step;
 			currentStep.startUp();
-			eventBus.register(currentStep);
+			stepEventRouter.register(currentStep);
 		}
 		else
 		{
@@ -103,7 +143,7 @@ public abstract class QuestHelper implements Module, QuestDebugRenderer
 	{
 		if (currentStep != null)
 		{
-			eventBus.unregister(currentStep);
+			stepEventRouter.unregister(currentStep);
 			currentStep.shutDown();
 			currentStep = null;
 		}
@@ -143,7 +183,11 @@ public abstract class QuestHelper implements Module, QuestDebugRenderer
 
 	public QuestState getState(Client client)
 	{
-		return quest.getState(client);
+		if (questStateCache == null)
+		{
+			return quest.getState(client);
+		}
+		return questStateCache.getState(quest);
 	}
 
 	public boolean clientMeetsRequirements()
@@ -169,16 +213,20 @@ public abstract class QuestHelper implements Module, QuestDebugRenderer
 		);
 		panelComponent.getChildren().add(LineComponent.builder()
 			.left(quest.getQuest().getName())
-			.leftColor(quest.getConfig().debugColor())
+			.leftColor(quest.getConfigSnapshot().getDebugColor())
 			.right(quest.getVar() + "")
-			.rightColor(quest.getConfig().debugColor())
+			.rightColor(quest.getConfigSnapshot().getDebugColor())
 			.build()
 		);
 	}
 
 	public int getVar()
 	{
-		return quest.getVar(client);
+		if (vars == null)
+		{
+			return quest.getVar(client);
+		}
+		return quest.getVar(vars);
 	}
 
 	public List<ItemRequirement> getItemRequirements()
@@ -163,12 +163,12 @@ public class MapPuzzle extends QuestStep
 
 					graphics.setColor(new Color(0, 255, 255, 65));
 					graphics.fill(widget1.getBounds());
-					graphics.setColor(questHelper.getConfig().targetOverlayColor());
+					graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 					graphics.draw(widget1.getBounds());
 
 					graphics.setColor(new Color(0, 255, 255, 65));
 					graphics.fill(widget2.getBounds());
-					graphics.setColor(questHelper.getConfig().targetOverlayColor());
+					graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 					graphics.draw(widget2.getBounds());
 
 					graphics.setStroke(new BasicStroke(3));
@@ -183,11 +183,9 @@ public class MapPuzzle extends QuestStep
 				Widget widget = widgetWrapper.getChild(i);
 				if (widget != null && currentRotationValue[i] != 0)
 				{
-					graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-						questHelper.getConfig().targetOverlayColor().getGreen(),
-						questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+					graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 					graphics.fill(widget.getBounds());
-					graphics.setColor(questHelper.getConfig().targetOverlayColor());
+					graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 					graphics.draw(widget.getBounds());
 
 					int widgetX = widget.getCanvasLocation().getX() + (widget.getWidth() / 2) - 4;
@@ -27,7 +27,6 @@ package com.questhelper.quests.dreammentor;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.steps.QuestStep;
-import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import net.runelite.api.events.GameTick;
@@ -89,11 +88,9 @@ public class SelectingCombatGear extends QuestStep
 		{
 			for (Widget widget : itemsToHighlight)
 			{
-				graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-					questHelper.getConfig().targetOverlayColor().getGreen(),
-					questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+				graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 				graphics.fill(widget.getBounds());
-				graphics.setColor(questHelper.getConfig().targetOverlayColor());
+				graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 				graphics.draw(widget.getBounds());
 			}
 		}
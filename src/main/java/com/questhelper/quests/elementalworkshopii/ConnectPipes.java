@@ -72,12 +72,12 @@ public class ConnectPipes extends QuestStep
 
 		graphics.setColor(new Color(0, 255, 255, 65));
 		graphics.fill(widget1.getBounds());
-		graphics.setColor(questHelper.getConfig().targetOverlayColor());
+		graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 		graphics.draw(widget1.getBounds());
 
 		graphics.setColor(new Color(0, 255, 255, 65));
 		graphics.fill(widget2.getBounds());
-		graphics.setColor(questHelper.getConfig().targetOverlayColor());
+		graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 		graphics.draw(widget2.getBounds());
 
 		graphics.setStroke(new BasicStroke(3));
@@ -154,7 +154,7 @@ public class EnchantedKeyDigStep extends DetailedQuestStep
 			return;
 		}
 
-		OverlayUtil.renderTileOverlay(client, graphics, localLocation, getSpadeImage(), questHelper.getConfig().targetOverlayColor());
+		OverlayUtil.renderTileOverlay(client, graphics, localLocation, getSpadeImage(), questHelper.getConfigSnapshot().getTargetOverlayColor());
 	}
 
 	@Subscribe
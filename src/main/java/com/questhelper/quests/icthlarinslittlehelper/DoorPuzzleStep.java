@@ -27,7 +27,6 @@ package com.questhelper.quests.icthlarinslittlehelper;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.steps.QuestStep;
-import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.Arrays;
 import net.runelite.api.events.GameTick;
@@ -179,11 +178,9 @@ public class DoorPuzzleStep extends QuestStep
 					Widget widget = client.getWidget(147, START_WIDGET_ID + i);
 					if (widget != null)
 					{
-						graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-							questHelper.getConfig().targetOverlayColor().getGreen(),
-							questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+						graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 						graphics.fill(widget.getBounds());
-						graphics.setColor(questHelper.getConfig().targetOverlayColor());
+						graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 						graphics.draw(widget.getBounds());
 					}
 				}
@@ -27,7 +27,6 @@ package com.questhelper.quests.kingsransom;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.steps.QuestStep;
-import java.awt.Color;
 import java.awt.Graphics2D;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.widgets.Widget;
@@ -127,11 +126,9 @@ public class LockpickPuzzle extends QuestStep
 		Widget widgetWrapper = client.getWidget(588, highlightChildID);
 		if (widgetWrapper != null)
 		{
-			graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-				questHelper.getConfig().targetOverlayColor().getGreen(),
-				questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+			graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 			graphics.fill(widgetWrapper.getBounds());
-			graphics.setColor(questHelper.getConfig().targetOverlayColor());
+			graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 			graphics.draw(widgetWrapper.getBounds());
 		}
 	}
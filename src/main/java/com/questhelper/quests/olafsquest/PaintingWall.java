@@ -3,7 +3,6 @@ package com.questhelper.quests.olafsquest;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.steps.QuestStep;
-import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.Arrays;
 import net.runelite.api.events.GameTick;
@@ -89,11 +88,9 @@ public class PaintingWall extends QuestStep
 			Widget widget = client.getWidget(253, highlightWidget);
 			if (widget != null)
 			{
-				graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-					questHelper.getConfig().targetOverlayColor().getGreen(),
-					questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+				graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 				graphics.fill(widget.getBounds());
-				graphics.setColor(questHelper.getConfig().targetOverlayColor());
+				graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 				graphics.draw(widget.getBounds());
 			}
 		}
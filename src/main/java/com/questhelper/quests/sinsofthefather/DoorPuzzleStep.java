@@ -291,11 +291,9 @@ public class DoorPuzzleStep extends DetailedQuestStep
                 for(int j =0; j < result[i].cells.length; j++) {
                     if (result[i].cells[j] == 2) {
                         Widget panel = panels.getChild(i * 5 + j);
-                        graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-							questHelper.getConfig().targetOverlayColor().getGreen(),
-							questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+                        graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
                         graphics.fill(panel.getBounds());
-                        graphics.setColor(questHelper.getConfig().targetOverlayColor());
+                        graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
                         graphics.draw(panel.getBounds());
                     }
                 }
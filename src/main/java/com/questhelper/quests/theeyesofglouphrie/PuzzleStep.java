@@ -31,6 +31,7 @@ import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.requirements.Requirement;
 import com.questhelper.steps.ObjectStep;
 import com.questhelper.steps.QuestStep;
+import com.questhelper.steps.StepEventRouter;
 import com.questhelper.steps.WidgetDetails;
 import com.questhelper.steps.WidgetStep;
 import com.questhelper.steps.OwnerStep;
@@ -51,14 +52,13 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.widgets.Widget;
-import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 
 public class PuzzleStep extends QuestStep implements OwnerStep
 {
 	@Inject
-	protected EventBus eventBus;
+	protected StepEventRouter stepEventRouter;
 
 	@Inject
 	protected Client client;
@@ -635,7 +635,7 @@ public class PuzzleStep extends QuestStep implements OwnerStep
 		if (currentStep == null)
 		{
 			currentStep = step;
-			eventBus.register(currentStep);
+			stepEventRouter.register(currentStep);
 			currentStep.startUp();
 			return;
 		}
@@ -643,7 +643,7 @@ public class PuzzleStep extends QuestStep implements OwnerStep
 		if (!step.equals(currentStep))
 		{
 			shutDownStep();
-			eventBus.register(step);
+			stepEventRouter.register(step);
 			step.startUp();
 			currentStep = step;
 		}
@@ -653,7 +653,7 @@ public class PuzzleStep extends QuestStep implements OwnerStep
 	{
 		if (currentStep != null)
 		{
-			eventBus.unregister(currentStep);
+			stepEventRouter.unregister(currentStep);
 			currentStep.shutDown();
 			currentStep = null;
 		}
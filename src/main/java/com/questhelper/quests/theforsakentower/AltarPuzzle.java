@@ -36,6 +36,7 @@ import com.questhelper.steps.DetailedQuestStep;
 import com.questhelper.steps.ObjectStep;
 import com.questhelper.steps.OwnerStep;
 import com.questhelper.steps.QuestStep;
+import com.questhelper.steps.StepEventRouter;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -47,14 +48,13 @@ import net.runelite.api.NullObjectID;
 import net.runelite.api.ObjectID;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameTick;
-import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 
 public class AltarPuzzle extends QuestStep implements OwnerStep
 {
 	@Inject
-	protected EventBus eventBus;
+	protected StepEventRouter stepEventRouter;
 
 	@Inject
 	protected Client client;
@@ -284,7 +284,7 @@ public class AltarPuzzle extends QuestStep implements OwnerStep
 		if (currentStep == null)
 		{
 			currentStep = step;
-			eventBus.register(currentStep);
+			stepEventRouter.register(currentStep);
 			currentStep.startUp();
 			return;
 		}
@@ -292,7 +292,7 @@ public class AltarPuzzle extends QuestStep implements OwnerStep
 		if (!step.equals(currentStep))
 		{
 			shutDownStep();
-			eventBus.register(step);
+			stepEventRouter.register(step);
 			step.startUp();
 			currentStep = step;
 		}
@@ -302,7 +302,7 @@ public class AltarPuzzle extends QuestStep implements OwnerStep
 	{
 		if (currentStep != this)
 		{
-			eventBus.unregister(currentStep);
+			stepEventRouter.unregister(currentStep);
 			currentStep.shutDown();
 			currentStep = null;
 		}
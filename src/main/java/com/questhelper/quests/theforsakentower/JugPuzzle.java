@@ -39,6 +39,7 @@ import com.questhelper.steps.DetailedQuestStep;
 import com.questhelper.steps.ObjectStep;
 import com.questhelper.steps.OwnerStep;
 import com.questhelper.steps.QuestStep;
+import com.questhelper.steps.StepEventRouter;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,7 +56,6 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
-import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 
@@ -67,7 +67,7 @@ public class JugPuzzle extends QuestStep implements OwnerStep
 	private static final Pattern JUG_CHECKED = Pattern.compile("^The ([0-9])-gallon jug(?: contains ([0-9]) gallons* of coolant| is empty)");
 
 	@Inject
-	protected EventBus eventBus;
+	protected StepEventRouter stepEventRouter;
 
 	@Inject
 	protected Client client;
@@ -266,7 +266,7 @@ public class JugPuzzle extends QuestStep implements OwnerStep
 		if (currentStep == null)
 		{
 			currentStep = step;
-			eventBus.register(currentStep);
+			stepEventRouter.register(currentStep);
 			currentStep.startUp();
 			return;
 		}
@@ -274,7 +274,7 @@ public class JugPuzzle extends QuestStep implements OwnerStep
 		if (!step.equals(currentStep))
 		{
 			shutDownStep();
-			eventBus.register(step);
+			stepEventRouter.register(step);
 			step.startUp();
 			currentStep = step;
 		}
@@ -284,7 +284,7 @@ public class JugPuzzle extends QuestStep implements OwnerStep
 	{
 		if (currentStep != null)
 		{
-			eventBus.unregister(currentStep);
+			stepEventRouter.unregister(currentStep);
 			currentStep.shutDown();
 			currentStep = null;
 		}
@@ -38,6 +38,7 @@ import com.questhelper.steps.DetailedQuestStep;
 import com.questhelper.steps.ObjectStep;
 import com.questhelper.steps.OwnerStep;
 import com.questhelper.steps.QuestStep;
+import com.questhelper.steps.StepEventRouter;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -53,14 +54,13 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
-import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 
 public class PotionPuzzle extends QuestStep implements OwnerStep
 {
 	@Inject
-	protected EventBus eventBus;
+	protected StepEventRouter stepEventRouter;
 
 	@Inject
 	protected Client client;
@@ -181,7 +181,7 @@ public class PotionPuzzle extends QuestStep implements OwnerStep
 		if (currentStep == null)
 		{
 			currentStep = step;
-			eventBus.register(currentStep);
+			stepEventRouter.register(currentStep);
 			currentStep.startUp();
 			return;
 		}
@@ -189,7 +189,7 @@ public class PotionPuzzle extends QuestStep implements OwnerStep
 		if (!step.equals(currentStep))
 		{
 			shutDownStep();
-			eventBus.register(step);
+			stepEventRouter.register(step);
 			step.startUp();
 			currentStep = step;
 		}
@@ -199,7 +199,7 @@ public class PotionPuzzle extends QuestStep implements OwnerStep
 	{
 		if (currentStep != null)
 		{
-			eventBus.unregister(currentStep);
+			stepEventRouter.unregister(currentStep);
 			currentStep.shutDown();
 			currentStep = null;
 		}
@@ -27,7 +27,6 @@ package com.questhelper.quests.theforsakentower;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.steps.QuestStep;
-import java.awt.Color;
 import java.awt.Graphics2D;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.api.widgets.Widget;
@@ -92,11 +91,9 @@ public class PowerPuzzle extends QuestStep
 				Widget widget = widgetWrapper.getChild(i);
 				if (widget != null && !currentPositionCorrect[i])
 				{
-					graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-						questHelper.getConfig().targetOverlayColor().getGreen(),
-						questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+					graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 					graphics.fill(widget.getBounds());
-					graphics.setColor(questHelper.getConfig().targetOverlayColor());
+					graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 					graphics.draw(widget.getBounds());
 				}
 			}
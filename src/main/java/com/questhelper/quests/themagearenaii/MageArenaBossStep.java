@@ -201,7 +201,7 @@ public class MageArenaBossStep extends DetailedQuestStep
 			return;
 		}
 
-		OverlayUtil.renderTileOverlay(client, graphics, localLocation, getSymbolLocation(), questHelper.getConfig().targetOverlayColor());
+		OverlayUtil.renderTileOverlay(client, graphics, localLocation, getSymbolLocation(), questHelper.getConfigSnapshot().getTargetOverlayColor());
 	}
 
 	@Subscribe
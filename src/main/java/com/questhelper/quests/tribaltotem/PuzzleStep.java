@@ -114,11 +114,9 @@ public class PuzzleStep extends QuestStep {
             Widget widget = client.getWidget(369, entry.getValue());
             if (widget != null)
             {
-				graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-					questHelper.getConfig().targetOverlayColor().getGreen(),
-					questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+				graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
                 graphics.fill(widget.getBounds());
-                graphics.setColor(questHelper.getConfig().targetOverlayColor());
+                graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
                 graphics.draw(widget.getBounds());
             }
         }
@@ -24,6 +24,7 @@
  */
 package com.questhelper.requirements;
 
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
 import java.util.List;
 import javax.annotation.Nullable;
 import net.runelite.api.Client;
@@ -52,18 +53,18 @@ public abstract class AbstractRequirement implements Requirement
 	}
 
 	@Override
-	public List<LineComponent> getDisplayTextWithChecks(Client client)
+	public List<LineComponent> getDisplayTextWithChecks(RequirementEvaluationContext context)
 	{
-		if (getOverlayReplacement() != null && !this.check(client))
+		if (getOverlayReplacement() != null && !context.check(this))
 		{
-			return getOverlayReplacement().getDisplayTextWithChecks(client);
+			return getOverlayReplacement().getDisplayTextWithChecks(context);
 		}
-		return getOverlayDisplayText(client);
+		return getOverlayDisplayText(context);
 	}
 
-	protected List<LineComponent> getOverlayDisplayText(Client client)
+	protected List<LineComponent> getOverlayDisplayText(RequirementEvaluationContext context)
 	{
-		return Requirement.super.getDisplayTextWithChecks(client);
+		return Requirement.super.getDisplayTextWithChecks(context);
 	}
 
 	public void appendToTooltip(String text)
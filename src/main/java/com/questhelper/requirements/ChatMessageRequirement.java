@@ -27,18 +27,20 @@
 package com.questhelper.requirements;
 
 import com.questhelper.requirements.conditional.ConditionForStep;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.util.Arrays;
 import java.util.List;
-import lombok.Setter;
+import java.util.Set;
+import lombok.Getter;
 import net.runelite.api.Client;
 
 public class ChatMessageRequirement extends ConditionForStep
 {
-	@Setter
 	private boolean hasReceivedChatMessage = false;
 
 	private Requirement condition;
 
+	@Getter
 	private final List<String> messages;
 
 	public ChatMessageRequirement(String... message)
@@ -52,22 +54,42 @@ public class ChatMessageRequirement extends ConditionForStep
 		this.messages = Arrays.asList(message);
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.CHAT);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
 		return hasReceivedChatMessage;
 	}
 
+	public void setHasReceivedChatMessage(boolean hasReceivedChatMessage)
+	{
+		if (this.hasReceivedChatMessage != hasReceivedChatMessage)
+		{
+			this.hasReceivedChatMessage = hasReceivedChatMessage;
+			revision++;
+		}
+	}
+
 	public void validateCondition(Client client, String chatMessage) {
-		if (!hasReceivedChatMessage)
+		if (messages.contains(chatMessage))
+		{
+			messageReceived(client);
+		}
+	}
+
+	/**
+	 * Called when one of this requirement's messages has been received.
+	 */
+	public void messageReceived(Client client)
+	{
+		if (!hasReceivedChatMessage && (condition == null || condition.check(client)))
 		{
-			if (messages.contains(chatMessage))
-			{
-				if (condition == null || condition.check(client))
-				{
-					hasReceivedChatMessage = true;
-				}
-			}
+			setHasReceivedChatMessage(true);
 		}
 	}
 }
@@ -24,8 +24,13 @@
  */
 package com.questhelper.requirements;
 
+import com.questhelper.requirements.evaluation.CompiledRequirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.LogicType;
-import java.util.stream.Stream;
+import java.util.Arrays;
+import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.runelite.api.Client;
 
@@ -40,6 +45,9 @@ public class ComplexRequirement extends AbstractRequirement
 	private final LogicType logicType;
 	private final String name;
 
+	@Getter(AccessLevel.NONE)
+	private CompiledRequirement compiled;
+
 	/**
 	 * Requirement that combines multiple other {@link Requirement}s using
 	 * {@link LogicType} to determine if the requirement(s) is/are met.
@@ -64,10 +72,58 @@ public class ComplexRequirement extends AbstractRequirement
 		this.logicType = logicType;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.combined(Arrays.asList(requirements));
+	}
+
+	@Override
+	public int getRevision()
+	{
+		int revision = 0;
+		for (Requirement requirement : requirements)
+		{
+			revision += requirement.getRevision();
+		}
+		return revision;
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
-		return logicType.test(Stream.of(requirements), r -> r.check(client));
+		return logicType.test(Arrays.asList(requirements), r -> r.check(client));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		if (compiled == null)
+		{
+			compiled = CompiledRequirement.compile(compiledRule(), Arrays.asList(requirements));
+		}
+		return compiled.evaluate(context);
+	}
+
+	/**
+	 * The rule matching {@link LogicType#test(Iterable, java.util.function.Predicate)} for this requirement's logic type.
+	 */
+	private CompiledRequirement.Rule compiledRule()
+	{
+		switch (logicType)
+		{
+			case AND:
+				return CompiledRequirement.Rule.ALL;
+			case OR:
+				return CompiledRequirement.Rule.ANY;
+			case NAND:
+				return CompiledRequirement.Rule.NOT_ALL;
+			case NOR:
+				return CompiledRequirement.Rule.NONE;
+			case XOR:
+			default:
+				return CompiledRequirement.Rule.EXACTLY_ONE;
+		}
 	}
 
 	@Override
@@ -27,9 +27,12 @@
 
 package com.questhelper.requirements;
 
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.runelite.api.Client;
@@ -49,6 +52,43 @@ public interface Requirement
 	 */
 	boolean check(Client client);
 
+	/**
+	 * Check this requirement as part of a {@link RequirementEvaluationContext}.<br>
+	 * Requirements made up of other requirements should check them through {@link RequirementEvaluationContext#check(Requirement)}
+	 * so their results are shared with everything else checked this tick.
+	 *
+	 * @param context the context to check with
+	 * @return true if the client meets this requirement
+	 */
+	default boolean check(RequirementEvaluationContext context)
+	{
+		return check(context.getClient());
+	}
+
+	/**
+	 * The game state read by {@link #check(Client)}. If none of these have changed since the last check,
+	 * the previous result may be re-used by the {@link com.questhelper.requirements.evaluation.RequirementEvaluator}.<br>
+	 * Requirements which hold state of their own, or can't tell what they read, should return {@link RequirementInput#unknown()}.
+	 *
+	 * @return the inputs of this requirement
+	 */
+	default Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.unknown();
+	}
+
+	/**
+	 * A number which changes whenever this requirement is changed in a way which could change the result of
+	 * {@link #check(Client)}, such as being given a new quantity. Requirements made up of other requirements
+	 * should include the revisions of their children.
+	 *
+	 * @return the current revision of this requirement
+	 */
+	default int getRevision()
+	{
+		return 0;
+	}
+
 	/**
 	 * @return display text to be used for rendering either on overlays or panels. Cannot be null.
 	 */
@@ -65,7 +105,19 @@ public interface Requirement
 	 */
 	default Color getColor(Client client)
 	{
-		return check(client) ? Color.GREEN : Color.RED;
+		return getColor(RequirementEvaluationContext.uncached(client));
+	}
+
+	/**
+	 * The {@link Color} used to render the {@link #getDisplayText()}, using the result of this requirement
+	 * stored in the {@link RequirementEvaluationContext}.
+	 *
+	 * @param context the context to check with
+	 * @return the {@link Color} to use
+	 */
+	default Color getColor(RequirementEvaluationContext context)
+	{
+		return context.check(this) ? Color.GREEN : Color.RED;
 	}
 
 	/**
@@ -88,11 +140,16 @@ public interface Requirement
 	default void setTooltip(@Nullable String tooltip) {}
 
 	default List<LineComponent> getDisplayTextWithChecks(Client client)
+	{
+		return getDisplayTextWithChecks(RequirementEvaluationContext.uncached(client));
+	}
+
+	default List<LineComponent> getDisplayTextWithChecks(RequirementEvaluationContext context)
 	{
 		List<LineComponent> lines = new ArrayList<>();
 
 		String text = getDisplayText();
-		Color color = getColor(client);
+		Color color = getColor(context);
 
 		lines.add(LineComponent.builder()
 			.left(text)
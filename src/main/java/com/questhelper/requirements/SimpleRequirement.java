@@ -26,7 +26,6 @@
  */
 package com.questhelper.requirements;
 
-import java.awt.Color;
 import javax.annotation.Nonnull;
 import net.runelite.api.Client;
 
@@ -42,10 +41,4 @@ public abstract class SimpleRequirement extends AbstractRequirement
 	{
 		return "";
 	}
-
-	@Override
-	public Color getColor(Client client)
-	{
-		return check(client) ? Color.GREEN : Color.RED;
-	}
 }
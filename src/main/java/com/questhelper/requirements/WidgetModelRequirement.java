@@ -27,6 +27,8 @@
 package com.questhelper.requirements;
 
 import com.questhelper.requirements.SimpleRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.Client;
@@ -61,6 +63,12 @@ public class WidgetModelRequirement extends SimpleRequirement
 		this.id = id;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.WIDGET);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
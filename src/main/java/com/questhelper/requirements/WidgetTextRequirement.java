@@ -27,8 +27,10 @@
 package com.questhelper.requirements;
 
 import com.questhelper.requirements.SimpleRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.Client;
@@ -91,6 +93,12 @@ public class WidgetTextRequirement extends SimpleRequirement
 		this.max = max;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.WIDGET);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -29,8 +29,11 @@ package com.questhelper.requirements;
 
 import com.questhelper.Zone;
 import com.questhelper.questhelpers.QuestUtil;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import net.runelite.api.Client;
@@ -92,6 +95,12 @@ public class ZoneRequirement extends AbstractRequirement
 		this.checkInZone = checkInZone;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.PLAYER_LOCATION);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -105,6 +114,26 @@ public class ZoneRequirement extends AbstractRequirement
 		return false;
 	}
 
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		if (zones == null || context.getPlayerLocation() == null)
+		{
+			return false;
+		}
+
+		boolean inZone = false;
+		for (Zone zone : zones)
+		{
+			if (context.isPlayerInZone(zone))
+			{
+				inZone = true;
+				break;
+			}
+		}
+		return inZone == checkInZone;
+	}
+
 	@Nonnull
 	@Override
 	public String getDisplayText()
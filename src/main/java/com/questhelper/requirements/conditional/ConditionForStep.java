@@ -25,16 +25,16 @@
 package com.questhelper.requirements.conditional;
 
 import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.LogicType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import lombok.Getter;
-import lombok.Setter;
 import net.runelite.api.Client;
 
 public abstract class ConditionForStep implements InitializableRequirement
 {
-	@Setter
 	@Getter
 	protected boolean hasPassed;
 	protected boolean onlyNeedToPassOnce;
@@ -43,9 +43,45 @@ public abstract class ConditionForStep implements InitializableRequirement
 	@Getter
 	protected List<Requirement> conditions = new ArrayList<>();
 
+	protected int revision;
+
 	@Override
 	abstract public boolean check(Client client);
 
+	/**
+	 * A condition which only needs to pass once remembers that it has passed, so it is always treated as
+	 * having an unknown input.
+	 */
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		if (onlyNeedToPassOnce)
+		{
+			return RequirementInput.unknown();
+		}
+		return RequirementInput.combined(conditions);
+	}
+
+	public void setHasPassed(boolean hasPassed)
+	{
+		if (this.hasPassed != hasPassed)
+		{
+			this.hasPassed = hasPassed;
+			revision++;
+		}
+	}
+
+	@Override
+	public int getRevision()
+	{
+		int total = revision;
+		for (Requirement condition : conditions)
+		{
+			total += condition.getRevision();
+		}
+		return total;
+	}
+
 	@Override
 	public void initialize(Client client)
 	{
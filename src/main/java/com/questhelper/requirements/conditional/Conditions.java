@@ -25,10 +25,13 @@
 package com.questhelper.requirements.conditional;
 
 import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.evaluation.CompiledRequirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
 import com.questhelper.requirements.util.LogicType;
 import com.questhelper.requirements.util.Operation;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import net.runelite.api.Client;
 
 public class Conditions extends ConditionForStep
@@ -36,6 +39,9 @@ public class Conditions extends ConditionForStep
 	protected Operation operation;
 	protected int quantity;
 
+	private CompiledRequirement compiled;
+	private int compiledSize;
+
 	public Conditions(Requirement... conditions)
 	{
 		this.conditions = new ArrayList<>();
@@ -87,29 +93,78 @@ public class Conditions extends ConditionForStep
 
 	@Override
 	public boolean check(Client client)
+	{
+		return check(RequirementEvaluationContext.uncached(client));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
 	{
 		if (onlyNeedToPassOnce && hasPassed)
 		{
 			return true;
 		}
 
-		int conditionsPassed = (int) conditions.stream().filter(c -> c.check(client)).count();
+		if (compiled == null || compiledSize != conditions.size())
+		{
+			compiled = compile();
+			compiledSize = conditions.size();
+		}
+
+		boolean passed = compiled.evaluate(context);
+		if (passed && operation == null)
+		{
+			hasPassed = true;
+		}
+		return passed;
+	}
 
+	private CompiledRequirement compile()
+	{
 		if (operation != null)
 		{
-			return operation.check(conditionsPassed, quantity);
+			return CompiledRequirement.compile(operation, quantity, conditions);
 		}
 
-		//TODO: Replace with LogicType check, however more testing to be done to make sure nothing breaks
-		if ((conditionsPassed > 0 && logicType == LogicType.OR)
-			|| (conditionsPassed == 0 && logicType == LogicType.NOR)
-			|| (conditionsPassed == conditions.size() && logicType == LogicType.AND)
-			|| (conditionsPassed < conditions.size() && logicType == LogicType.NAND))
+		switch (logicType)
 		{
-			hasPassed = true;
-			return true;
+			case AND:
+				return CompiledRequirement.compile(CompiledRequirement.Rule.ALL, flatten(LogicType.AND));
+			case OR:
+				return CompiledRequirement.compile(CompiledRequirement.Rule.ANY, flatten(LogicType.OR));
+			case NAND:
+				return CompiledRequirement.compile(CompiledRequirement.Rule.NOT_ALL, conditions);
+			case NOR:
+				return CompiledRequirement.compile(CompiledRequirement.Rule.NONE, conditions);
+			default:
+				// XOR has never passed for Conditions, but any children holding state still need checking
+				return CompiledRequirement.compile(CompiledRequirement.Rule.NEVER, conditions);
 		}
+	}
 
-		return false;
+	/**
+	 * Pull the children of nested AND-within-AND or OR-within-OR conditions up into one list, so they can be
+	 * ordered and short-circuited together.
+	 */
+	private List<Requirement> flatten(LogicType parentLogic)
+	{
+		List<Requirement> flattened = new ArrayList<>();
+		for (Requirement condition : conditions)
+		{
+			if (condition instanceof Conditions && ((Conditions) condition).canBeFlattenedInto(parentLogic))
+			{
+				flattened.addAll(((Conditions) condition).flatten(parentLogic));
+			}
+			else
+			{
+				flattened.add(condition);
+			}
+		}
+		return flattened;
+	}
+
+	private boolean canBeFlattenedInto(LogicType parentLogic)
+	{
+		return logicType == parentLogic && operation == null && !onlyNeedToPassOnce && !CompiledRequirement.holdsState(this);
 	}
 }
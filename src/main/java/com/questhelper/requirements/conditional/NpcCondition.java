@@ -25,17 +25,17 @@
 package com.questhelper.requirements.conditional;
 
 import com.questhelper.Zone;
-import java.util.ArrayList;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import java.util.List;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.NPC;
 import net.runelite.api.coords.WorldPoint;
-import net.runelite.api.events.NpcChanged;
 
 public class NpcCondition extends ConditionForStep
 {
 	private final int npcID;
-	private final ArrayList<NPC> npcs = new ArrayList<>();
-	private boolean npcInScene = false;
 	private final Zone zone;
 
 	public NpcCondition(int npcID)
@@ -57,80 +57,33 @@ public class NpcCondition extends ConditionForStep
 	}
 
 	@Override
-	public void initialize(Client client)
+	public Set<RequirementInput> getInputs()
 	{
-		for (NPC npc : client.getNpcs())
-		{
-			if (npcID == npc.getId())
-			{
-				this.npcs.add(npc);
-				npcInScene = true;
-			}
-		}
+		return RequirementInput.of(RequirementInput.NPCS);
 	}
 
 	public boolean check(Client client)
 	{
-		if (zone != null)
-		{
-			for (NPC npc : npcs)
-			{
-				if (npc != null)
-				{
-					WorldPoint wp = WorldPoint.fromLocalInstance(client, npc.getLocalLocation());
-					if (wp != null)
-					{
-						if (zone.contains(wp))
-						{
-							return true;
-						}
-					}
-				}
-			}
-			return false;
-		}
-		else
-		{
-			return npcInScene;
-		}
+		return check(RequirementEvaluationContext.uncached(client));
 	}
 
-	public void checkNpcSpawned(NPC npc)
-	{
-		if (npc.getId() == this.npcID)
-		{
-			npcs.add(npc);
-			npcInScene = true;
-		}
-	}
-
-	public void checkNpcDespawned(NPC npc)
-	{
-		if (npcs.contains(npc))
-		{
-			npcs.remove(npc);
-			npcInScene = false;
-		}
-	}
-
-	public void checkNpcChanged(NpcChanged npcChanged)
+	@Override
+	public boolean check(RequirementEvaluationContext context)
 	{
-		if (npcs.contains(npcChanged.getNpc()) && npcChanged.getNpc().getId() != this.npcID)
+		List<NPC> npcs = context.getNpcs(npcID);
+		if (zone == null)
 		{
-			this.npcs.remove(npcChanged.getNpc());
-			npcInScene = false;
+			return !npcs.isEmpty();
 		}
 
-		if (npcChanged.getNpc().getId() == this.npcID)
+		for (NPC npc : npcs)
 		{
-			this.npcs.add(npcChanged.getNpc());
-			npcInScene = true;
+			WorldPoint wp = context.getNpcLocation(npc);
+			if (wp != null && zone.contains(wp))
+			{
+				return true;
+			}
 		}
-	}
-
-	@Override
-	public void updateHandler()
-	{
-		npcInScene = false;
+		return false;
 	}
 }
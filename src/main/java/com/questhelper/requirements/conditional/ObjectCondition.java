@@ -24,10 +24,13 @@
  */
 package com.questhelper.requirements.conditional;
 
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import com.questhelper.steps.tools.QuestPerspective;
 import java.util.Collection;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.GameObject;
-import static net.runelite.api.Perspective.SCENE_SIZE;
 import net.runelite.api.Tile;
 import net.runelite.api.TileObject;
 import net.runelite.api.coords.LocalPoint;
@@ -50,11 +53,17 @@ public class ObjectCondition extends ConditionForStep
 		this.worldPoint = worldPoint;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.SCENE, RequirementInput.PLAYER_LOCATION);
+	}
+
 	public boolean check(Client client)
 	{
 		if (worldPoint != null)
 		{
-			Collection<WorldPoint> wps = WorldPoint.toLocalInstance(client, worldPoint);
+			Collection<WorldPoint> wps = QuestPerspective.toLocalInstance(client, worldPoint);
 			if (wps == null)
 			{
 				return false;
@@ -76,24 +85,23 @@ public class ObjectCondition extends ConditionForStep
 		}
 		else
 		{
-			Tile[][] tiles;
-			tiles = client.getScene().getTiles()[client.getPlane()];
-
-			for (int x = 0; x < SCENE_SIZE; x++)
-			{
-				for (int y = 0; y < SCENE_SIZE; y++)
-				{
-					if (checkTile(tiles[x][y]))
-					{
-						return true;
-					}
-				}
-			}
+			return check(RequirementEvaluationContext.uncached(client));
 		}
 
 		return false;
 	}
 
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		if (worldPoint != null)
+		{
+			return check(context.getClient());
+		}
+
+		return context.isObjectInScene(objectID, context.getClient().getPlane());
+	}
+
 	private boolean checkTile(Tile tile)
 	{
 		if (tile == null)
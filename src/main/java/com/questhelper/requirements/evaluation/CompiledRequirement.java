@@ -0,0 +1,256 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.requirements.evaluation;
+
+import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.util.Operation;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A flattened form of a requirement made up of other requirements, such as
+ * {@link com.questhelper.requirements.conditional.Conditions}, which stops checking children as soon as the
+ * result is known.<br>
+ * Children which may hold state of their own (those with an {@link RequirementInput#UNKNOWN} input, such as
+ * conditions which only need to pass once) are always checked, in the order they were added, so they see the
+ * same checks they did before. The remaining children are checked cheapest first.<br>
+ * Evaluating does not create any streams, lambdas or iterators.
+ */
+public class CompiledRequirement
+{
+	/**
+	 * How the number of passing children is turned into a result.
+	 */
+	public enum Rule
+	{
+		/** Every child must pass */
+		ALL,
+		/** At least one child must pass */
+		ANY,
+		/** At least one child must fail */
+		NOT_ALL,
+		/** No child may pass */
+		NONE,
+		/** Exactly one child must pass */
+		EXACTLY_ONE,
+		/** Never passes, but children which hold state are still checked */
+		NEVER,
+		/** The number of passing children is compared to a quantity using an {@link Operation} */
+		COUNT
+	}
+
+	private static final Requirement[] EMPTY = new Requirement[0];
+
+	private final Rule rule;
+	private final Operation operation;
+	private final int quantity;
+
+	private final Requirement[] alwaysChecked;
+	private final Requirement[] shortCircuited;
+
+	private CompiledRequirement(Rule rule, Operation operation, int quantity, Requirement[] alwaysChecked, Requirement[] shortCircuited)
+	{
+		this.rule = rule;
+		this.operation = operation;
+		this.quantity = quantity;
+		this.alwaysChecked = alwaysChecked;
+		this.shortCircuited = shortCircuited;
+	}
+
+	/**
+	 * Compile a list of requirements combined with a {@link Rule}.
+	 *
+	 * @param rule how the children are combined
+	 * @param requirements the children, which should already have any nested requirements flattened into them
+	 * @return the compiled requirement
+	 */
+	public static CompiledRequirement compile(Rule rule, List<? extends Requirement> requirements)
+	{
+		return compile(rule, null, 0, requirements);
+	}
+
+	/**
+	 * Compile a list of requirements which passes when the number of passing children meets the {@link Operation}.
+	 *
+	 * @param operation the operation to compare the number of passing children with
+	 * @param quantity the quantity to compare against
+	 * @param requirements the children
+	 * @return the compiled requirement
+	 */
+	public static CompiledRequirement compile(Operation operation, int quantity, List<? extends Requirement> requirements)
+	{
+		return compile(Rule.COUNT, operation, quantity, requirements);
+	}
+
+	private static CompiledRequirement compile(Rule rule, Operation operation, int quantity, List<? extends Requirement> requirements)
+	{
+		List<Requirement> alwaysChecked = new ArrayList<>();
+		List<Requirement> shortCircuited = new ArrayList<>();
+		for (Requirement requirement : requirements)
+		{
+			if (holdsState(requirement))
+			{
+				alwaysChecked.add(requirement);
+			}
+			else
+			{
+				shortCircuited.add(requirement);
+			}
+		}
+
+		// List#sort is stable, so requirements of the same cost keep the order they were added in
+		shortCircuited.sort(Comparator.comparingInt(CompiledRequirement::costOf));
+
+		return new CompiledRequirement(rule, operation, quantity, alwaysChecked.toArray(EMPTY), shortCircuited.toArray(EMPTY));
+	}
+
+	/**
+	 * @return true if the requirement should be checked every time, as it may hold state of its own
+	 */
+	public static boolean holdsState(Requirement requirement)
+	{
+		return requirement.getInputs().contains(RequirementInput.UNKNOWN);
+	}
+
+	private static int costOf(Requirement requirement)
+	{
+		int cost = 0;
+		for (RequirementInput input : requirement.getInputs())
+		{
+			cost = Math.max(cost, input.getCost());
+		}
+		return cost;
+	}
+
+	public boolean evaluate(RequirementEvaluationContext context)
+	{
+		int passed = 0;
+		for (Requirement requirement : alwaysChecked)
+		{
+			if (context.check(requirement))
+			{
+				passed++;
+			}
+		}
+		int failed = alwaysChecked.length - passed;
+
+		switch (rule)
+		{
+			case ALL:
+				return failed == 0 && allPass(context);
+			case ANY:
+				return passed > 0 || anyPass(context);
+			case NOT_ALL:
+				return failed > 0 || !allPass(context);
+			case NONE:
+				return passed == 0 && !anyPass(context);
+			case EXACTLY_ONE:
+				return exactlyOnePasses(context, passed);
+			case COUNT:
+				return countPasses(context, passed);
+			case NEVER:
+			default:
+				return false;
+		}
+	}
+
+	private boolean allPass(RequirementEvaluationContext context)
+	{
+		for (Requirement requirement : shortCircuited)
+		{
+			if (!context.check(requirement))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean anyPass(RequirementEvaluationContext context)
+	{
+		for (Requirement requirement : shortCircuited)
+		{
+			if (context.check(requirement))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean exactlyOnePasses(RequirementEvaluationContext context, int passed)
+	{
+		for (int i = 0; i < shortCircuited.length && passed < 2; i++)
+		{
+			if (context.check(shortCircuited[i]))
+			{
+				passed++;
+			}
+		}
+		return passed == 1;
+	}
+
+	private boolean countPasses(RequirementEvaluationContext context, int passed)
+	{
+		// The final count will be somewhere between min and max, so stop once every count in that range gives the same result
+		int min = passed;
+		int max = passed + shortCircuited.length;
+		for (int i = 0; i < shortCircuited.length && !isDecided(min, max); i++)
+		{
+			if (context.check(shortCircuited[i]))
+			{
+				min++;
+			}
+			else
+			{
+				max--;
+			}
+		}
+		return operation.check(min, quantity);
+	}
+
+	private boolean isDecided(int min, int max)
+	{
+		if (min == max)
+		{
+			return true;
+		}
+
+		switch (operation)
+		{
+			case LESS_EQUAL:
+			case GREATER_EQUAL:
+				return operation.check(min, quantity) == operation.check(max, quantity);
+			case EQUAL:
+			case NOT_EQUAL:
+			default:
+				return quantity < min || quantity > max;
+		}
+	}
+}
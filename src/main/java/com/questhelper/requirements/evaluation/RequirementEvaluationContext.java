@@ -0,0 +1,449 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.requirements.evaluation;
+
+import com.questhelper.QuestHelperQuest;
+import com.questhelper.Zone;
+import com.questhelper.requirements.Requirement;
+import com.questhelper.tracking.GroundItemIndex;
+import com.questhelper.tracking.ItemCountIndex;
+import com.questhelper.tracking.NpcTracker;
+import com.questhelper.tracking.QuestStateCache;
+import com.questhelper.tracking.SceneObjectIndex;
+import com.questhelper.tracking.VarSnapshot;
+import com.questhelper.tracking.ZoneIndex;
+import com.questhelper.util.IdList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.QuestState;
+import net.runelite.api.Tile;
+import net.runelite.api.TileItem;
+import net.runelite.api.TileObject;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Remembers the result of every {@link Requirement} checked during the current game tick, so that
+ * steps, overlays and the side panel all see the same answer and each requirement is checked at most
+ * once per tick.<br>
+ * Stored results are all dropped when the tick changes. Part way through a tick, a result is only dropped
+ * when the {@link RequirementEvaluator} is told that one of its requirement's inputs has changed since it was
+ * stored, or when the requirement's revision changes.
+ */
+@Singleton
+public class RequirementEvaluationContext
+{
+	/** Uncached contexts hold no state, so the last one created is re-used */
+	private static RequirementEvaluationContext lastUncached;
+
+	@Getter
+	private final Client client;
+
+	private final RequirementEvaluator evaluator;
+	private final VarSnapshot vars;
+	private final ItemCountIndex itemCounts;
+	private final QuestStateCache questStates;
+	private final ZoneIndex zones;
+	private final NpcTracker npcs;
+	private final SceneObjectIndex sceneObjects;
+	private final GroundItemIndex groundItems;
+
+	private final Map<Requirement, Result> results = new IdentityHashMap<>();
+
+	private int resultsTick = -1;
+
+	@Getter
+	private long hits;
+
+	@Getter
+	private long misses;
+
+	@Inject
+	public RequirementEvaluationContext(Client client, RequirementEvaluator evaluator, VarSnapshot vars, ItemCountIndex itemCounts,
+		QuestStateCache questStates, ZoneIndex zones, NpcTracker npcs, SceneObjectIndex sceneObjects,
+		GroundItemIndex groundItems)
+	{
+		this.client = client;
+		this.evaluator = evaluator;
+		this.vars = vars;
+		this.itemCounts = itemCounts;
+		this.questStates = questStates;
+		this.zones = zones;
+		this.npcs = npcs;
+		this.sceneObjects = sceneObjects;
+		this.groundItems = groundItems;
+	}
+
+	private RequirementEvaluationContext(Client client)
+	{
+		this.client = client;
+		this.evaluator = null;
+		this.vars = null;
+		this.itemCounts = null;
+		this.questStates = null;
+		this.zones = null;
+		this.npcs = null;
+		this.sceneObjects = null;
+		this.groundItems = null;
+	}
+
+	/**
+	 * Create a context which doesn't remember anything, for callers which only have a {@link Client}.
+	 *
+	 * @param client the client to check requirements against
+	 * @return a context which checks every requirement each time it is asked
+	 */
+	public static RequirementEvaluationContext uncached(Client client)
+	{
+		RequirementEvaluationContext context = lastUncached;
+		if (context == null || context.client != client)
+		{
+			context = new RequirementEvaluationContext(client);
+			lastUncached = context;
+		}
+		return context;
+	}
+
+	/**
+	 * Check a requirement, using the result from earlier in this tick if there is one.
+	 *
+	 * @param requirement the requirement to check
+	 * @return true if the requirement is met
+	 */
+	public boolean check(Requirement requirement)
+	{
+		if (evaluator == null)
+		{
+			return requirement.check(this);
+		}
+
+		refresh();
+
+		Result result = results.get(requirement);
+		if (result != null && result.revision == requirement.getRevision()
+			&& !evaluator.hasChangedSince(result.inputMask, result.storedAt))
+		{
+			hits++;
+			return result.passed;
+		}
+
+		misses++;
+		long storedAt = evaluator.getChangeCount();
+		boolean passed = evaluator.evaluate(requirement, this);
+		results.put(requirement, new Result(passed, requirement.getRevision(), evaluator.inputMaskOf(requirement), storedAt));
+		return passed;
+	}
+
+	/**
+	 * Read a varbit for a requirement, so the requirement is checked again when the varbit changes.
+	 *
+	 * @param dependent the requirement reading the varbit
+	 * @param varbitId the varbit to read
+	 * @return the varbit's current value
+	 */
+	public int getVarbitValue(Requirement dependent, int varbitId)
+	{
+		if (vars == null)
+		{
+			return client.getVarbitValue(varbitId);
+		}
+		return vars.getVarbitValue(dependent, varbitId);
+	}
+
+	/**
+	 * Read a varp for a requirement, so the requirement is checked again when the varp changes.
+	 *
+	 * @param dependent the requirement reading the varp
+	 * @param varpId the varp to read
+	 * @return the varp's current value
+	 */
+	public int getVarpValue(Requirement dependent, int varpId)
+	{
+		if (vars == null)
+		{
+			return client.getVarpValue(varpId);
+		}
+		return vars.getVarpValue(dependent, varpId);
+	}
+
+	/**
+	 * @param inventoryID the container to look in
+	 * @param itemID the item to count
+	 * @return the total quantity of the item in the container
+	 */
+	public int getItemCount(InventoryID inventoryID, int itemID)
+	{
+		if (itemCounts == null)
+		{
+			return ItemCountIndex.countIn(client, inventoryID, itemID);
+		}
+		return itemCounts.getCount(inventoryID, itemID);
+	}
+
+	/**
+	 * @param items the items to look in, such as the remembered bank
+	 * @param itemID the item to count
+	 * @return the total quantity of the item in the array
+	 */
+	public int getItemCount(Item[] items, int itemID)
+	{
+		if (itemCounts == null)
+		{
+			return ItemCountIndex.countIn(items, itemID);
+		}
+		return itemCounts.getCount(items, itemID);
+	}
+
+	/**
+	 * @param quest the quest to get the state of
+	 * @return the quest's current state
+	 */
+	public QuestState getQuestState(QuestHelperQuest quest)
+	{
+		if (questStates == null)
+		{
+			return quest.getState(client);
+		}
+		return questStates.getState(quest);
+	}
+
+	/**
+	 * @return the player's location translated out of any instance, or null if there is no player
+	 */
+	public WorldPoint getPlayerLocation()
+	{
+		if (zones == null)
+		{
+			Player player = client.getLocalPlayer();
+			return player == null ? null : WorldPoint.fromLocalInstance(client, player.getLocalLocation());
+		}
+		return zones.getPlayerLocation();
+	}
+
+	/**
+	 * @param zone the zone to check
+	 * @return true if the player is in the zone
+	 */
+	public boolean isPlayerInZone(Zone zone)
+	{
+		if (zones == null)
+		{
+			WorldPoint location = getPlayerLocation();
+			return location != null && zone.contains(location);
+		}
+		return zones.containsPlayer(zone);
+	}
+
+	/**
+	 * @param npcID the id to look for
+	 * @return the NPCs in the scene with the id. The list must not be modified.
+	 */
+	public List<NPC> getNpcs(int npcID)
+	{
+		if (npcs == null)
+		{
+			List<NPC> found = new ArrayList<>();
+			for (NPC npc : client.getNpcs())
+			{
+				if (npc.getId() == npcID)
+				{
+					found.add(npc);
+				}
+			}
+			return found;
+		}
+		return npcs.getNpcs(npcID);
+	}
+
+	/**
+	 * @param npc the NPC to locate
+	 * @return the NPC's location, translated out of any instance
+	 */
+	public WorldPoint getNpcLocation(NPC npc)
+	{
+		if (npcs == null)
+		{
+			return WorldPoint.fromLocalInstance(client, npc.getLocalLocation());
+		}
+		return npcs.getLocation(npc);
+	}
+
+	/**
+	 * @param npcIDs the ids to look for
+	 * @return true if an NPC with one of the ids is interacting with the local player
+	 */
+	public boolean isNpcInteractingWithPlayer(IdList npcIDs)
+	{
+		if (npcs == null)
+		{
+			Player player = client.getLocalPlayer();
+			for (NPC npc : client.getNpcs())
+			{
+				// we need the null check because Client#getLocalPlayer is Nullable
+				if (npc.getInteracting() != null && npc.getInteracting() == player && npcIDs.containsId(npc.getId()))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+		return npcs.isInteractingWithPlayer(npcIDs);
+	}
+
+	/**
+	 * @param objectID the id to look for
+	 * @param plane the plane to look on
+	 * @return true if an object with the id is in the scene on the plane
+	 */
+	public boolean isObjectInScene(int objectID, int plane)
+	{
+		if (sceneObjects == null)
+		{
+			for (Tile[] lineOfTiles : client.getScene().getTiles()[plane])
+			{
+				for (Tile tile : lineOfTiles)
+				{
+					if (tile == null)
+					{
+						continue;
+					}
+					for (GameObject object : tile.getGameObjects())
+					{
+						if (hasId(object, objectID))
+						{
+							return true;
+						}
+					}
+					if (hasId(tile.getDecorativeObject(), objectID) || hasId(tile.getGroundObject(), objectID)
+						|| hasId(tile.getWallObject(), objectID))
+					{
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+		return sceneObjects.hasObject(objectID, plane);
+	}
+
+	/**
+	 * @param itemIDs the items to look for
+	 * @param plane the plane to look on
+	 * @return true if any of the items are on the ground on the plane
+	 */
+	public boolean isItemOnGround(IdList itemIDs, int plane)
+	{
+		if (groundItems == null)
+		{
+			for (Tile[] lineOfTiles : client.getScene().getTiles()[plane])
+			{
+				for (Tile tile : lineOfTiles)
+				{
+					List<TileItem> items = tile == null ? null : tile.getGroundItems();
+					if (items == null)
+					{
+						continue;
+					}
+					for (TileItem item : items)
+					{
+						if (itemIDs.containsId(item.getId()))
+						{
+							return true;
+						}
+					}
+				}
+			}
+			return false;
+		}
+
+		for (int i = 0; i < itemIDs.size(); i++)
+		{
+			if (groundItems.hasItem(itemIDs.getId(i), plane))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void reset()
+	{
+		if (zones != null)
+		{
+			zones.clear();
+		}
+		results.clear();
+		resultsTick = -1;
+		hits = 0;
+		misses = 0;
+	}
+
+	private void refresh()
+	{
+		evaluator.updateTick();
+
+		int tick = client.getTickCount();
+		if (tick != resultsTick)
+		{
+			results.clear();
+			resultsTick = tick;
+		}
+	}
+
+	private static boolean hasId(TileObject object, int objectID)
+	{
+		return object != null && object.getId() == objectID;
+	}
+
+	private static class Result
+	{
+		private final boolean passed;
+		private final int revision;
+		private final int inputMask;
+		/** The evaluator's change number when the requirement was checked */
+		private final long storedAt;
+
+		private Result(boolean passed, int revision, int inputMask, long storedAt)
+		{
+			this.passed = passed;
+			this.revision = revision;
+			this.inputMask = inputMask;
+			this.storedAt = storedAt;
+		}
+	}
+}
@@ -0,0 +1,434 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.requirements.evaluation;
+
+import com.questhelper.requirements.Requirement;
+import com.questhelper.tracking.VarSnapshot;
+import com.questhelper.tracking.ZoneIndex;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Checks {@link Requirement}s, re-using the last result of a requirement when none of its
+ * {@link RequirementInput}s have changed since it was last checked.<br>
+ * Requirements with a volatile input are checked every time they reach the evaluator. The
+ * {@link RequirementEvaluationContext} still remembers every result for the rest of the tick, so callers going
+ * through it see a volatile requirement's result as of its first check that tick, rather than a fresh check.<br>
+ * Requirements which read their varbits and varps through the {@link VarSnapshot} are only checked again when
+ * one of those values changes, rather than whenever any var changes.
+ */
+@Singleton
+public class RequirementEvaluator
+{
+	private static final int INPUT_COUNT = RequirementInput.values().length;
+	private static final int VAR_INPUTS = RequirementInput.VARBIT.mask() | RequirementInput.VARPLAYER.mask();
+	private static final int UNKNOWN_INPUT = RequirementInput.UNKNOWN.mask();
+
+	private final Client client;
+	private final VarSnapshot vars;
+	private final ZoneIndex zones;
+	private final Consumer<Requirement> varsChangedHandler = this::varsChanged;
+
+	private final Map<Requirement, Evaluation> evaluations = new IdentityHashMap<>();
+
+	/** The change number at which each input last changed */
+	private final long[] lastChanged = new long[INPUT_COUNT];
+	@Getter
+	private long changeCount = 0;
+
+	private int currentTick = -1;
+	private WorldPoint lastPlayerLocation;
+
+	@Getter
+	private long checksPerformed;
+
+	@Getter
+	private long checksSkipped;
+
+	@Inject
+	public RequirementEvaluator(Client client, VarSnapshot vars, ZoneIndex zones)
+	{
+		this.client = client;
+		this.vars = vars;
+		this.zones = zones;
+	}
+
+	/**
+	 * Check a requirement, re-using the previous result if none of its inputs have changed.<br>
+	 * This is called by the {@link RequirementEvaluationContext}, which should be used to check requirements.
+	 *
+	 * @param requirement the requirement to check
+	 * @param context the context which children of the requirement are checked with
+	 * @return the same result as {@link Requirement#check(Client)}
+	 */
+	boolean evaluate(Requirement requirement, RequirementEvaluationContext context)
+	{
+		updateTick();
+		vars.drainChangedDependents(varsChangedHandler);
+
+		Evaluation evaluation = evaluations.get(requirement);
+		if (evaluation == null)
+		{
+			evaluation = new Evaluation(maskOf(requirement));
+			evaluations.put(requirement, evaluation);
+		}
+
+		int revision = requirement.getRevision();
+		if (evaluation.checkedAt >= 0 && !evaluation.volatileInputs && evaluation.revision == revision && !hasChangedSince(evaluation))
+		{
+			checksSkipped++;
+			return evaluation.result;
+		}
+
+		checksPerformed++;
+		evaluation.result = requirement.check(context);
+		evaluation.checkedAt = changeCount;
+		evaluation.revision = requirement.getRevision();
+		evaluation.varsTracked = vars.isDependent(requirement);
+		evaluation.varsChanged = false;
+		return evaluation.result;
+	}
+
+	/**
+	 * Forget every stored result. Called when a quest is shut down so requirements of the old quest can be collected.
+	 */
+	public void reset()
+	{
+		evaluations.clear();
+		vars.clearDependents();
+		checksPerformed = 0;
+		checksSkipped = 0;
+		lastPlayerLocation = null;
+		currentTick = -1;
+	}
+
+	/**
+	 * Mark an input as changed, causing every requirement which reads it to be checked again.
+	 *
+	 * @param input the input which changed
+	 */
+	public void markChanged(RequirementInput input)
+	{
+		lastChanged[input.ordinal()] = ++changeCount;
+	}
+
+	public void markAllChanged()
+	{
+		changeCount++;
+		for (int i = 0; i < INPUT_COUNT; i++)
+		{
+			lastChanged[i] = changeCount;
+		}
+	}
+
+	@Subscribe
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		markChanged(RequirementInput.VARBIT);
+		markChanged(RequirementInput.VARPLAYER);
+	}
+
+	@Subscribe
+	public void onItemContainerChanged(ItemContainerChanged event)
+	{
+		if (event.getContainerId() == InventoryID.INVENTORY.getId())
+		{
+			markChanged(RequirementInput.INVENTORY);
+		}
+		else if (event.getContainerId() == InventoryID.EQUIPMENT.getId())
+		{
+			markChanged(RequirementInput.EQUIPMENT);
+		}
+	}
+
+	@Subscribe
+	public void onStatChanged(StatChanged event)
+	{
+		markChanged(RequirementInput.SKILLS);
+	}
+
+	@Subscribe
+	public void onChatMessage(ChatMessage event)
+	{
+		markChanged(RequirementInput.CHAT);
+	}
+
+	@Subscribe
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		markChanged(RequirementInput.NPCS);
+	}
+
+	@Subscribe
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		markChanged(RequirementInput.NPCS);
+	}
+
+	@Subscribe
+	public void onNpcChanged(NpcChanged event)
+	{
+		markChanged(RequirementInput.NPCS);
+	}
+
+	@Subscribe
+	public void onItemSpawned(ItemSpawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onItemDespawned(ItemDespawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		markChanged(RequirementInput.SCENE);
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOADING || event.getGameState() == GameState.HOPPING
+			|| event.getGameState() == GameState.LOGGED_IN)
+		{
+			markAllChanged();
+		}
+	}
+
+	/**
+	 * NPCs and scene contents move or change every tick without a single event to follow, so they are
+	 * treated as changed once per tick. The player's location is compared against the previous tick.
+	 */
+	void updateTick()
+	{
+		int tick = client.getTickCount();
+		if (tick == currentTick)
+		{
+			return;
+		}
+		currentTick = tick;
+
+		markChanged(RequirementInput.NPCS);
+		markChanged(RequirementInput.SCENE);
+
+		WorldPoint location = zones.getPlayerLocation();
+		if (!Objects.equals(location, lastPlayerLocation))
+		{
+			lastPlayerLocation = location;
+			markChanged(RequirementInput.PLAYER_LOCATION);
+		}
+	}
+
+	private void varsChanged(Requirement requirement)
+	{
+		Evaluation evaluation = evaluations.get(requirement);
+		if (evaluation != null)
+		{
+			evaluation.varsChanged = true;
+		}
+	}
+
+	private boolean hasChangedSince(Evaluation evaluation)
+	{
+		int inputMask = evaluation.inputMask;
+		if (evaluation.varsTracked)
+		{
+			// The snapshot reports exactly which of these requirements changed
+			if (evaluation.varsChanged)
+			{
+				return true;
+			}
+			inputMask &= ~VAR_INPUTS;
+		}
+		return hasChangedSince(inputMask, evaluation.checkedAt);
+	}
+
+	/**
+	 * @param inputMask the inputs to look at, as a mask of {@link RequirementInput#mask()}
+	 * @param since the change number to compare against
+	 * @return true if any of the inputs have changed since the change number. An unknown input could be
+	 * anything, so it counts as changed whenever any input has.
+	 */
+	boolean hasChangedSince(int inputMask, long since)
+	{
+		if ((inputMask & UNKNOWN_INPUT) != 0)
+		{
+			return changeCount > since;
+		}
+
+		for (int i = 0; i < INPUT_COUNT; i++)
+		{
+			if ((inputMask & (1 << i)) != 0 && lastChanged[i] > since)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check if something a requirement reads may have changed, without checking the requirement. Volatile inputs
+	 * can change without being marked, so they always may have changed.
+	 *
+	 * @param inputs the inputs to look at
+	 * @param since a change number from {@link #getChangeCount()}
+	 * @return true if any of the inputs are volatile or have changed since the change number
+	 */
+	public boolean mayHaveChangedSince(Set<RequirementInput> inputs, long since)
+	{
+		int inputMask = 0;
+		for (RequirementInput input : inputs)
+		{
+			if (input.isVolatileInput())
+			{
+				return true;
+			}
+			inputMask |= input.mask();
+		}
+		return hasChangedSince(inputMask, since);
+	}
+
+	/**
+	 * @return the requirement's inputs as a mask of {@link RequirementInput#mask()}
+	 */
+	int inputMaskOf(Requirement requirement)
+	{
+		Evaluation evaluation = evaluations.get(requirement);
+		return evaluation == null ? maskOf(requirement) : evaluation.inputMask;
+	}
+
+	private static int maskOf(Requirement requirement)
+	{
+		int mask = 0;
+		for (RequirementInput input : requirement.getInputs())
+		{
+			mask |= input.mask();
+		}
+		return mask;
+	}
+
+	private static class Evaluation
+	{
+		private final int inputMask;
+		private final boolean volatileInputs;
+		private boolean result;
+		private long checkedAt = -1;
+		private int revision;
+		private boolean varsTracked;
+		private boolean varsChanged;
+
+		private Evaluation(int inputMask)
+		{
+			this.inputMask = inputMask;
+			boolean isVolatile = false;
+			for (RequirementInput input : RequirementInput.values())
+			{
+				if (input.isVolatileInput() && (inputMask & input.mask()) != 0)
+				{
+					isVolatile = true;
+				}
+			}
+			this.volatileInputs = isVolatile;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.requirements.evaluation;
+
+import com.questhelper.requirements.Requirement;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * A piece of game state that a {@link com.questhelper.requirements.Requirement} reads when it is checked.<br>
+ * The {@link RequirementEvaluator} uses these to decide if a previous result can be reused.
+ */
+public enum RequirementInput
+{
+	VARBIT(false, 1),
+	VARPLAYER(false, 1),
+	INVENTORY(false, 2),
+	EQUIPMENT(false, 2),
+	PLAYER_LOCATION(false, 2),
+	/** Real and boosted skill levels, and the combat level worked out from them */
+	SKILLS(false, 1),
+	NPCS(false, 3),
+	SCENE(false, 5),
+	/** Widgets can change without an event being posted, so they are always re-checked */
+	WIDGET(true, 4),
+	/** Chat requirements can be changed outside of the chat event, so they are always re-checked */
+	CHAT(true, 1),
+	/** The input is not known, or the requirement holds state of its own */
+	UNKNOWN(true, 5);
+
+	private static final Set<RequirementInput> UNKNOWN_INPUTS = Collections.unmodifiableSet(EnumSet.of(UNKNOWN));
+
+	/**
+	 * If true, a requirement reading this input is checked every time it is evaluated.
+	 */
+	@Getter
+	private final boolean volatileInput;
+
+	/**
+	 * A rough relative cost of reading this input, used to check cheap requirements first.
+	 */
+	@Getter
+	private final int cost;
+
+	RequirementInput(boolean volatileInput, int cost)
+	{
+		this.volatileInput = volatileInput;
+		this.cost = cost;
+	}
+
+	int mask()
+	{
+		return 1 << ordinal();
+	}
+
+	/**
+	 * @return the inputs of a requirement which can't tell what it depends on
+	 */
+	public static Set<RequirementInput> unknown()
+	{
+		return UNKNOWN_INPUTS;
+	}
+
+	/**
+	 * @return an immutable set of the given inputs
+	 */
+	public static Set<RequirementInput> of(RequirementInput first, RequirementInput... rest)
+	{
+		return Collections.unmodifiableSet(EnumSet.of(first, rest));
+	}
+
+	/**
+	 * Combine the inputs of several requirements, such as the children of a composite requirement.
+	 *
+	 * @param requirements the requirements to combine, null entries are ignored
+	 * @return every input read by at least one of the requirements
+	 */
+	public static Set<RequirementInput> combined(Iterable<? extends Requirement> requirements)
+	{
+		EnumSet<RequirementInput> inputs = EnumSet.noneOf(RequirementInput.class);
+		for (Requirement requirement : requirements)
+		{
+			if (requirement != null)
+			{
+				inputs.addAll(requirement.getInputs());
+			}
+		}
+		return inputs.isEmpty() ? UNKNOWN_INPUTS : Collections.unmodifiableSet(inputs);
+	}
+}
@@ -26,34 +26,40 @@
  */
 package com.questhelper.requirements.item;
 
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.item.ItemRequirement;
+import com.questhelper.util.IdList;
 import java.util.List;
-import net.runelite.api.Client;
+import java.util.Set;
 import net.runelite.api.Item;
 
 public class FollowerItemRequirement extends ItemRequirement
 {
-	private final List<Integer> followerIDs;
+	private final IdList followerIDs;
 
 	public FollowerItemRequirement(String name, List<Integer> itemIDs, List<Integer> followerIDs)
 	{
 		super(name, itemIDs);
-		this.followerIDs = followerIDs;
+		this.followerIDs = IdList.copyOf(followerIDs);
 	}
 
 	@Override
-	public boolean check(Client client, boolean checkConsideringSlotRestrictions, Item[] items)
+	public Set<RequirementInput> getInputs()
 	{
-		boolean match = client.getNpcs().stream()
-			.filter(npc -> npc.getInteracting() != null) // we need this check because Client#getLocalPlayer is Nullable
-			.filter(npc -> npc.getInteracting() == client.getLocalPlayer())
-			.anyMatch(npc -> followerIDs.contains(npc.getId()));
+		return RequirementInput.of(RequirementInput.INVENTORY, RequirementInput.EQUIPMENT, RequirementInput.NPCS);
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context, boolean checkConsideringSlotRestrictions, Item[] items)
+	{
+		boolean match = context.isNpcInteractingWithPlayer(followerIDs);
 
 		if (match)
 		{
 			return true;
 		}
 
-		return super.check(client, checkConsideringSlotRestrictions, items);
+		return super.check(context, checkConsideringSlotRestrictions, items);
 	}
 }
@@ -28,9 +28,13 @@
 package com.questhelper.requirements.item;
 
 import com.questhelper.requirements.conditional.ConditionForStep;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import com.questhelper.steps.tools.QuestPerspective;
+import com.questhelper.util.IdList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.Tile;
 import net.runelite.api.TileItem;
@@ -39,12 +43,12 @@ import net.runelite.api.coords.WorldPoint;
 
 public class ItemOnTileRequirement extends ConditionForStep
 {
-	private final List<Integer> itemID;
+	private final IdList itemID;
 	private WorldPoint worldPoint;
 
 	public ItemOnTileRequirement(int itemID)
 	{
-		this.itemID = Collections.singletonList(itemID);
+		this.itemID = IdList.of(itemID);
 	}
 
 	public ItemOnTileRequirement(ItemRequirement item)
@@ -54,7 +58,7 @@ public class ItemOnTileRequirement extends ConditionForStep
 
 	public ItemOnTileRequirement(int itemID, WorldPoint worldPoint)
 	{
-		this.itemID = Collections.singletonList(itemID);
+		this.itemID = IdList.of(itemID);
 		this.worldPoint = worldPoint;
 	}
 
@@ -65,61 +69,55 @@ public class ItemOnTileRequirement extends ConditionForStep
 	}
 
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.SCENE, RequirementInput.PLAYER_LOCATION);
+	}
+
 	public boolean check(Client client)
 	{
-		return checkAllTiles(client);
+		if (worldPoint != null)
+		{
+			return checkWorldPoint(client);
+		}
+		return check(RequirementEvaluationContext.uncached(client));
 	}
 
-	// TODO: Make this not massively inefficient
-	private boolean checkAllTiles(Client client)
+	@Override
+	public boolean check(RequirementEvaluationContext context)
 	{
 		if (worldPoint != null)
 		{
-			Collection<WorldPoint> localWorldPoints = WorldPoint.toLocalInstance(client, worldPoint);
+			return checkWorldPoint(context.getClient());
+		}
 
-			for (WorldPoint point : localWorldPoints)
-			{
-				LocalPoint localPoint = LocalPoint.fromWorld(client, point);
-				if (localPoint == null)
-				{
-					continue;
-				}
+		return context.isItemOnGround(itemID, context.getClient().getPlane());
+	}
 
-				Tile tile = client.getScene().getTiles()[client.getPlane()][localPoint.getSceneX()][localPoint.getSceneY()];
-				if (tile != null)
-				{
-					List<TileItem> items = tile.getGroundItems();
-					if (items != null)
-					{
-						for (TileItem item : items)
-						{
-							if (itemID.contains(item.getId()))
-							{
-								return true;
-							}
-						}
-					}
-				}
-			}
-			return false;
-		}
+	private boolean checkWorldPoint(Client client)
+	{
+		Collection<WorldPoint> localWorldPoints = QuestPerspective.toLocalInstance(client, worldPoint);
 
-		Tile[][] squareOfTiles = client.getScene().getTiles()[client.getPlane()];
-		for (Tile[] lineOfTiles : squareOfTiles)
+		for (WorldPoint point : localWorldPoints)
 		{
-			for (Tile tile : lineOfTiles)
+			LocalPoint localPoint = LocalPoint.fromWorld(client, point);
+			if (localPoint == null)
+			{
+				continue;
+			}
+
+			Tile tile = client.getScene().getTiles()[client.getPlane()][localPoint.getSceneX()][localPoint.getSceneY()];
+			if (tile != null)
 			{
-				if (tile != null)
+				List<TileItem> items = tile.getGroundItems();
+				if (items != null)
 				{
-					List<TileItem> items = tile.getGroundItems();
-					if (items != null)
+					for (TileItem item : items)
 					{
-						for (TileItem item : items)
+						if (itemID.containsId(item.getId()))
 						{
-							if (itemID.contains(item.getId()))
-							{
-								return true;
-							}
+							return true;
 						}
 					}
 				}
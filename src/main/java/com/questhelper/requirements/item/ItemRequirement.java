@@ -28,15 +28,17 @@ package com.questhelper.requirements.item;
 
 import com.questhelper.requirements.AbstractRequirement;
 import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.InventorySlots;
+import com.questhelper.tracking.ItemCountIndex;
+import com.questhelper.util.IdList;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.Client;
@@ -56,20 +58,18 @@ public class ItemRequirement extends AbstractRequirement
 	@Getter
 	private Integer displayItemId;
 
-	@Setter
 	@Getter
 	protected int quantity;
 
 	@Getter
-	@Setter
 	private boolean equip;
 
 	@Setter
 	protected boolean highlightInInventory;
 
-	protected final List<Integer> alternateItems = new ArrayList<>();
+	/** The id followed by its alternates, in the order they should be looked for */
+	private IdList ids;
 
-	@Setter
 	protected boolean exclusiveToOneItemType;
 
 	@Setter
@@ -78,6 +78,8 @@ public class ItemRequirement extends AbstractRequirement
 	@Setter
 	private Requirement conditionToHide;
 
+	private int revision;
+
 	public ItemRequirement(String name, int id)
 	{
 		this(name, id, 1);
@@ -86,6 +88,7 @@ public class ItemRequirement extends AbstractRequirement
 	public ItemRequirement(String name, int id, int quantity)
 	{
 		this.id = id;
+		this.ids = IdList.of(id);
 		this.quantity = quantity;
 		this.name = name;
 		equip = false;
@@ -105,31 +108,67 @@ public class ItemRequirement extends AbstractRequirement
 
 	public ItemRequirement(String name, List<Integer> items)
 	{
-		this(name, items.get(0), 1);
-		this.addAlternates(items.subList(1, items.size()));
+		this(name, items, 1);
 	}
 
 	public ItemRequirement(String name, List<Integer> items, int quantity)
 	{
 		this(name, items.get(0), quantity);
-		this.addAlternates(items.subList(1, items.size()));
+		this.ids = IdList.copyOf(items);
 	}
 
 	public ItemRequirement(String name, List<Integer> items, int quantity, boolean equip)
 	{
-		this(name, items.get(0), quantity);
+		this(name, items, quantity);
 		this.equip = equip;
-		this.addAlternates(items.subList(1, items.size()));
 	}
 
 	public void addAlternates(List<Integer> alternates)
 	{
-		this.alternateItems.addAll(alternates);
+		IdList added = ids.plus(alternates);
+		if (added != ids)
+		{
+			ids = added;
+			revision++;
+		}
 	}
 
 	public void addAlternates(Integer... alternates)
 	{
-		this.alternateItems.addAll(Arrays.asList(alternates));
+		addAlternates(Arrays.asList(alternates));
+	}
+
+	public void setQuantity(int quantity)
+	{
+		if (this.quantity != quantity)
+		{
+			this.quantity = quantity;
+			revision++;
+		}
+	}
+
+	public void setEquip(boolean equip)
+	{
+		if (this.equip != equip)
+		{
+			this.equip = equip;
+			revision++;
+		}
+	}
+
+	public void setExclusiveToOneItemType(boolean exclusiveToOneItemType)
+	{
+		if (this.exclusiveToOneItemType != exclusiveToOneItemType)
+		{
+			this.exclusiveToOneItemType = exclusiveToOneItemType;
+			revision++;
+		}
+	}
+
+	@Override
+	public int getRevision()
+	{
+		return revision;
 	}
 
 	public boolean showQuantity()
@@ -168,7 +207,7 @@ public class ItemRequirement extends AbstractRequirement
 	public ItemRequirement copy()
 	{
 		ItemRequirement newItem = new ItemRequirement(name, id, quantity, equip);
-		newItem.addAlternates(alternateItems);
+		newItem.ids = ids;
 		newItem.setDisplayItemId(displayItemId);
 		newItem.setExclusiveToOneItemType(exclusiveToOneItemType);
 		newItem.setHighlightInInventory(highlightInInventory);
@@ -194,20 +233,23 @@ public class ItemRequirement extends AbstractRequirement
 		return name;
 	}
 
-	public List<Integer> getAllIds()
+	public IdList getAllIds()
 	{
-		List<Integer> items = new ArrayList<>(Collections.singletonList(id));
-		items.addAll(alternateItems);
+		return ids;
+	}
 
-		return items.stream().distinct().collect(Collectors.toList());
+	public boolean containsId(int itemID)
+	{
+		return ids.containsId(itemID);
 	}
 
 	@Override
-	protected List<LineComponent> getOverlayDisplayText(Client client)
+	protected List<LineComponent> getOverlayDisplayText(RequirementEvaluationContext context)
 	{
+		Client client = context.getClient();
 		List<LineComponent> lines = new ArrayList<>();
 
-		if (conditionToHide != null && conditionToHide.check(client))
+		if (conditionToHide != null && context.check(conditionToHide))
 		{
 			return lines;
 		}
@@ -218,8 +260,8 @@ public class ItemRequirement extends AbstractRequirement
 			text.append(this.getQuantity()).append(" x ");
 		}
 
-		int itemID = findItemID(client, false);
-		if (displayMatchedItemName && ((alternateItems.contains(itemID)) || id == itemID))
+		int itemID = findItemID(context, false);
+		if (displayMatchedItemName && ids.containsId(itemID))
 		{
 			text.append(client.getItemDefinition(itemID).getName());
 		}
@@ -228,12 +270,12 @@ public class ItemRequirement extends AbstractRequirement
 			text.append(this.getName());
 		}
 
-		Color color = getColor(client);
+		Color color = getColor(context);
 		lines.add(LineComponent.builder()
 			.left(text.toString())
 			.leftColor(color)
 			.build());
-		lines.addAll(getAdditionalText(client, true));
+		lines.addAll(getAdditionalText(context, true));
 		return lines;
 	}
 
@@ -244,14 +286,14 @@ public class ItemRequirement extends AbstractRequirement
 	}
 
 	@Override
-	public Color getColor(Client client)
+	public Color getColor(RequirementEvaluationContext context)
 	{
 		Color color = Color.RED;
 		if (!this.isActualItem())
 		{
 			color = Color.GRAY;
 		}
-		else if (this.check(client))
+		else if (context.check(this))
 		{
 			color = Color.GREEN;
 		}
@@ -259,21 +301,22 @@ public class ItemRequirement extends AbstractRequirement
 	}
 
 	/** Find the first item that this requirement allows that the player has, or -1 if they don't have any item(s) */
-	private int findItemID(Client client, boolean checkConsideringSlotRestrictions)
+	private int findItemID(RequirementEvaluationContext context, boolean checkConsideringSlotRestrictions)
 	{
-		int remainder = getRequiredItemDifference(client, id, checkConsideringSlotRestrictions, null);
+		int remainder = getRequiredItemDifference(context, id, checkConsideringSlotRestrictions, null);
 		if (remainder <= 0)
 		{
 			return id;
 		}
-		List<Integer> ids = getAllIds();
-		for (int alternate : ids)
+		IdList allIds = getAllIds();
+		for (int i = 0; i < allIds.size(); i++)
 		{
+			int alternate = allIds.getId(i);
 			if (exclusiveToOneItemType)
 			{
 				remainder = quantity;
 			}
-			remainder -= (quantity - getRequiredItemDifference(client, alternate, checkConsideringSlotRestrictions, null));
+			remainder -= (quantity - getRequiredItemDifference(context, alternate, checkConsideringSlotRestrictions, null));
 			if (remainder <= 0)
 			{
 				return alternate;
@@ -283,20 +326,25 @@ public class ItemRequirement extends AbstractRequirement
 	}
 
 	public Color getColorConsideringBank(Client client, boolean checkConsideringSlotRestrictions, Item[] bankItems)
+	{
+		return getColorConsideringBank(RequirementEvaluationContext.uncached(client), checkConsideringSlotRestrictions, bankItems);
+	}
+
+	public Color getColorConsideringBank(RequirementEvaluationContext context, boolean checkConsideringSlotRestrictions, Item[] bankItems)
 	{
 		Color color = Color.RED;
 		if (!this.isActualItem())
 		{
 			color = Color.GRAY;
 		}
-		else if (this.check(client, checkConsideringSlotRestrictions))
+		else if (checkConsideringSlotRestrictions ? this.check(context, true, null) : context.check(this))
 		{
 			color = Color.GREEN;
 		}
 
 		if (color == Color.RED && bankItems != null)
 		{
-			if (check(client, false, bankItems))
+			if (check(context, false, bankItems))
 			{
 				color = Color.WHITE;
 			}
@@ -305,7 +353,7 @@ public class ItemRequirement extends AbstractRequirement
 		return color;
 	}
 
-	protected ArrayList<LineComponent> getAdditionalText(Client client, boolean includeTooltip)
+	protected ArrayList<LineComponent> getAdditionalText(RequirementEvaluationContext context, boolean includeTooltip)
 	{
 		Color equipColor = Color.GREEN;
 
@@ -314,7 +362,7 @@ public class ItemRequirement extends AbstractRequirement
 		if (this.isEquip())
 		{
 			String equipText = "(equipped)";
-			if (!this.check(client, true))
+			if (!this.check(context, true, null))
 			{
 				equipColor = Color.RED;
 			}
@@ -324,7 +372,7 @@ public class ItemRequirement extends AbstractRequirement
 				.build());
 		}
 
-		if (includeTooltip && this.getTooltip() != null && !check(client))
+		if (includeTooltip && this.getTooltip() != null && !context.check(this))
 		{
 			lines.add(LineComponent.builder()
 				.left("- " + this.getTooltip())
@@ -336,17 +384,22 @@ public class ItemRequirement extends AbstractRequirement
 	}
 
 	public boolean check(Client client, boolean checkConsideringSlotRestrictions, Item[] items)
+	{
+		return check(RequirementEvaluationContext.uncached(client), checkConsideringSlotRestrictions, items);
+	}
+
+	public boolean check(RequirementEvaluationContext context, boolean checkConsideringSlotRestrictions, Item[] items)
 	{
 		int remainder = quantity;
 
-		List<Integer> ids = getAllIds();
-		for (int alternate : ids)
+		for (int i = 0; i < ids.size(); i++)
 		{
+			int alternate = ids.getId(i);
 			if (exclusiveToOneItemType)
 			{
 				remainder = quantity;
 			}
-			remainder -= (quantity - getRequiredItemDifference(client, alternate, checkConsideringSlotRestrictions, items));
+			remainder -= (quantity - getRequiredItemDifference(context, alternate, checkConsideringSlotRestrictions, items));
 			if (remainder <= 0)
 			{
 				return true;
@@ -361,26 +414,23 @@ public class ItemRequirement extends AbstractRequirement
 	 */
 	public int getRequiredItemDifference(Client client, int itemID, boolean checkConsideringSlotRestrictions, Item[] items)
 	{
-		ItemContainer equipped = client.getItemContainer(InventoryID.EQUIPMENT);
+		return getRequiredItemDifference(RequirementEvaluationContext.uncached(client), itemID, checkConsideringSlotRestrictions, items);
+	}
+
+	public int getRequiredItemDifference(RequirementEvaluationContext context, int itemID, boolean checkConsideringSlotRestrictions, Item[] items)
+	{
 		int tempQuantity = quantity;
 
-		if (equipped != null)
-		{
-			tempQuantity -= getNumMatches(equipped, itemID);
-		}
+		tempQuantity -= context.getItemCount(InventoryID.EQUIPMENT, itemID);
 
 		if (!checkConsideringSlotRestrictions || !equip)
 		{
-			ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
-			if (inventory != null)
-			{
-				tempQuantity -= getNumMatches(inventory, itemID);
-			}
+			tempQuantity -= context.getItemCount(InventoryID.INVENTORY, itemID);
 		}
 
 		if (items != null)
 		{
-			tempQuantity -= getNumMatches(items, itemID);
+			tempQuantity -= context.getItemCount(items, itemID);
 		}
 
 		return tempQuantity;
@@ -393,11 +443,13 @@ public class ItemRequirement extends AbstractRequirement
 
 	public int getNumMatches(Item[] items, int itemID)
 	{
-		return Stream.of(items)
-			.filter(Objects::nonNull) // Runelite loves to sneak in null objects
-			.filter(i -> i.getId() == itemID)
-			.mapToInt(Item::getQuantity)
-			.sum();
+		return ItemCountIndex.countIn(items, itemID);
+	}
+
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.INVENTORY, RequirementInput.EQUIPMENT);
 	}
 
 	public boolean check(Client client)
@@ -405,6 +457,12 @@ public class ItemRequirement extends AbstractRequirement
 		return check(client, false);
 	}
 
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		return check(context, false, null);
+	}
+
 	public boolean check(Client client, boolean checkConsideringSlotRestrictions)
 	{
 		return check(client, checkConsideringSlotRestrictions, null);
@@ -412,7 +470,11 @@ public class ItemRequirement extends AbstractRequirement
 
 	public boolean checkBank(Client client)
 	{
-		return InventorySlots.BANK.contains(client, item -> getDisplayItemIds().contains(item.getId()));
+		if (displayItemId != null)
+		{
+			return InventorySlots.BANK.contains(client, item -> item.getId() == displayItemId);
+		}
+		return InventorySlots.BANK.contains(client, item -> containsId(item.getId()));
 	}
 
 	public List<Integer> getDisplayItemIds()
@@ -430,8 +492,18 @@ public class ItemRequirement extends AbstractRequirement
 		return conditionToHide == null || !conditionToHide.check(client);
 	}
 
+	public boolean shouldRenderItemHighlights(RequirementEvaluationContext context)
+	{
+		return conditionToHide == null || !context.check(conditionToHide);
+	}
+
 	public boolean shouldHighlightInInventory(Client client)
 	{
 		return highlightInInventory && shouldRenderItemHighlights(client);
 	}
+
+	public boolean shouldHighlightInInventory(RequirementEvaluationContext context)
+	{
+		return highlightInInventory && shouldRenderItemHighlights(context);
+	}
 }
@@ -26,13 +26,15 @@
  */
 package com.questhelper.requirements.item;
 
-import com.questhelper.questhelpers.QuestUtil;
+import com.questhelper.requirements.evaluation.CompiledRequirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.LogicType;
+import com.questhelper.util.IdList;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -46,6 +48,14 @@ public class ItemRequirements extends ItemRequirement
 	@Getter
 	LogicType logicType;
 
+	private CompiledRequirement compiled;
+	private int compiledSize;
+
+	/** The ids of every child requirement, kept until a child is added or a child's alternates change */
+	private IdList allIds;
+	private int allIdsSize;
+	private int allIdsRevision;
+
 	public ItemRequirements(ItemRequirement... requirements)
 	{
 		this("", requirements);
@@ -73,7 +83,24 @@ public class ItemRequirements extends ItemRequirement
 	@Override
 	public boolean isActualItem()
 	{
-		return LogicType.OR.test(getItemRequirements().stream(), item -> !item.getAllIds().contains(-1) && item.getQuantity() >= 0);
+		return LogicType.OR.test(getItemRequirements(), item -> !item.containsId(-1) && item.getQuantity() >= 0);
+	}
+
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.combined(itemRequirements);
+	}
+
+	@Override
+	public int getRevision()
+	{
+		int revision = super.getRevision();
+		for (ItemRequirement itemRequirement : itemRequirements)
+		{
+			revision += itemRequirement.getRevision();
+		}
+		return revision;
 	}
 
 	@Override
@@ -82,64 +109,106 @@ public class ItemRequirements extends ItemRequirement
 		return check(client, false);
 	}
 
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		if (compiled == null || compiledSize != itemRequirements.size())
+		{
+			compiled = CompiledRequirement.compile(compiledRule(), itemRequirements);
+			compiledSize = itemRequirements.size();
+		}
+		return compiled.evaluate(context);
+	}
+
+	/**
+	 * The rule matching {@link #matchesLogic} for this requirement's logic type.<br>
+	 * {@link LogicType#XOR} passes only when there are items but none of them match.
+	 */
+	private CompiledRequirement.Rule compiledRule()
+	{
+		switch (logicType)
+		{
+			case AND:
+				return CompiledRequirement.Rule.ALL;
+			case OR:
+				return CompiledRequirement.Rule.ANY;
+			case NAND:
+				return CompiledRequirement.Rule.NOT_ALL;
+			case NOR:
+				return CompiledRequirement.Rule.NONE;
+			case XOR:
+			default:
+				return itemRequirements.isEmpty() ? CompiledRequirement.Rule.NEVER : CompiledRequirement.Rule.NONE;
+		}
+	}
+
 	@Override
 	public boolean check(Client client, boolean checkConsideringSlotRestrictions)
 	{
-		Predicate<ItemRequirement> predicate = r -> r.check(client, checkConsideringSlotRestrictions);
-		int successes = (int) itemRequirements.stream().filter(predicate).count();
-		return logicType.compare(successes, itemRequirements.size());
+		return matchesLogic(r -> r.check(client, checkConsideringSlotRestrictions));
 	}
 
 	@Override
 	public boolean check(Client client, boolean checkConsideringSlotRestrictions, Item[] items)
 	{
-		Predicate<ItemRequirement> predicate = r -> r.check(client, checkConsideringSlotRestrictions, items);
-		int successes = (int) itemRequirements.stream().filter(predicate).count();
-		return logicType.compare(successes, itemRequirements.size());
+		return matchesLogic(r -> r.check(client, checkConsideringSlotRestrictions, items));
 	}
 
 	@Override
-	public Color getColor(Client client)
+	public boolean check(RequirementEvaluationContext context, boolean checkConsideringSlotRestrictions, Item[] items)
 	{
-		return this.check(client, true) ? Color.GREEN : Color.RED;
+		return matchesLogic(r -> r.check(context, checkConsideringSlotRestrictions, items));
 	}
 
-	@Override
-	public Color getColorConsideringBank(Client client, boolean checkConsideringSlotRestrictions, Item[] bankItems)
+	private boolean matchesLogic(Predicate<ItemRequirement> predicate)
 	{
-		Color color = Color.RED;
-		if (!this.isActualItem())
+		if (logicType == LogicType.XOR)
 		{
-			color = Color.GRAY;
-		}
-		else if (this.check(client, checkConsideringSlotRestrictions))
-		{
-			color = Color.GREEN;
+			return !itemRequirements.isEmpty() && !LogicType.OR.test(itemRequirements, predicate);
 		}
+		return logicType.test(itemRequirements, predicate);
+	}
 
-		if (color == Color.RED && bankItems != null)
+	@Override
+	public Color getColor(RequirementEvaluationContext context)
+	{
+		return this.check(context, true, null) ? Color.GREEN : Color.RED;
+	}
+
+	@Override
+	public IdList getAllIds()
+	{
+		int revision = getRevision();
+		if (allIds == null || allIdsSize != itemRequirements.size() || allIdsRevision != revision)
 		{
-			if (check(client, false, bankItems))
+			IdList ids = IdList.EMPTY;
+			for (ItemRequirement itemRequirement : itemRequirements)
 			{
-				color = Color.WHITE;
+				ids = ids.plus(itemRequirement.getAllIds());
 			}
+			allIds = ids;
+			allIdsSize = itemRequirements.size();
+			allIdsRevision = revision;
 		}
-
-		return color;
+		return allIds;
 	}
 
 	@Override
-	public List<Integer> getAllIds()
+	public boolean containsId(int itemID)
 	{
-		return itemRequirements.stream()
-			.map(ItemRequirement::getAllIds)
-			.flatMap(Collection::stream)
-			.collect(QuestUtil.collectToArrayList());
+		for (ItemRequirement itemRequirement : itemRequirements)
+		{
+			if (itemRequirement.containsId(itemID))
+			{
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
 	public boolean checkBank(Client client)
 	{
-		return logicType.test(getItemRequirements().stream(), item -> item.checkBank(client) || item.check(client, false));
+		return logicType.test(getItemRequirements(), item -> item.checkBank(client) || item.check(client, false));
 	}
 }
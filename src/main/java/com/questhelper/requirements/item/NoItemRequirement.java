@@ -26,6 +26,7 @@
  */
 package com.questhelper.requirements.item;
 
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
 import com.questhelper.requirements.util.ItemSlots;
 import java.awt.Color;
 import java.util.Objects;
@@ -60,9 +61,15 @@ public class NoItemRequirement extends ItemRequirement
 	}
 
 	@Override
-	public Color getColor(Client client)
+	public boolean check(RequirementEvaluationContext context)
 	{
-		return check(client) ? Color.GREEN : Color.RED;
+		return check(context.getClient());
+	}
+
+	@Override
+	public Color getColor(RequirementEvaluationContext context)
+	{
+		return context.check(this) ? Color.GREEN : Color.RED;
 	}
 
 	@Override
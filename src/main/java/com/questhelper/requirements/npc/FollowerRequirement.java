@@ -27,37 +27,46 @@
 package com.questhelper.requirements.npc;
 
 import com.questhelper.requirements.AbstractRequirement;
-import java.util.ArrayList;
-import java.util.Collections;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import com.questhelper.util.IdList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import net.runelite.api.Client;
 
 public class FollowerRequirement extends AbstractRequirement
 {
-	List<Integer> followers;
+	IdList followers;
 	String text;
 
 	public FollowerRequirement(String text, Integer... followers)
 	{
-		this.text = text;
-		this.followers = new ArrayList<>();
-		Collections.addAll(this.followers, followers);
+		this(text, Arrays.asList(followers));
 	}
 
 	public FollowerRequirement(String text, List<Integer> followers)
 	{
 		this.text = text;
-		this.followers = followers;
+		this.followers = IdList.copyOf(followers);
+	}
+
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.NPCS);
 	}
 
 	@Override
 	public boolean check(Client client)
 	{
-		return client.getNpcs()
-			.stream()
-			.filter(npc -> npc.getInteracting() != null) // we need this check because Client#getLocalPlayer is Nullable
-			.filter(npc -> npc.getInteracting() == client.getLocalPlayer())
-			.anyMatch(npc -> followers.contains(npc.getId()));
+		return check(RequirementEvaluationContext.uncached(client));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		return context.isNpcInteractingWithPlayer(followers);
 	}
 
 	@Override
@@ -30,8 +30,11 @@ import com.questhelper.Zone;
 import com.questhelper.questhelpers.QuestUtil;
 import com.questhelper.requirements.SimpleRequirement;
 import com.questhelper.requirements.conditional.ConditionForStep;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.NPC;
 import net.runelite.api.coords.WorldPoint;
@@ -57,14 +60,26 @@ public class NpcHintArrowRequirement extends SimpleRequirement
 		this.zone = zone;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.NPCS);
+	}
+
 	public boolean check(Client client)
 	{
-		NPC currentNPC = client.getHintArrowNpc();
+		return check(RequirementEvaluationContext.uncached(client));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		NPC currentNPC = context.getClient().getHintArrowNpc();
 		if (currentNPC == null)
 		{
 			return false;
 		}
-		WorldPoint wp = WorldPoint.fromLocalInstance(client, currentNPC.getLocalLocation());
+		WorldPoint wp = context.getNpcLocation(currentNPC);
 
 		if (zone != null && !zone.contains(wp))
 		{
@@ -29,25 +29,37 @@ package com.questhelper.requirements.npc;
 
 import com.questhelper.requirements.SimpleRequirement;
 import com.questhelper.requirements.conditional.ConditionForStep;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import com.questhelper.util.IdList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Set;
 import net.runelite.api.Client;
 
 public class NpcInteractingRequirement extends SimpleRequirement
 {
-	final List<Integer> npcIDs;
+	final IdList npcIDs;
 
 	public NpcInteractingRequirement(Integer... npcID)
 	{
-		this.npcIDs = Arrays.asList(npcID);
+		this.npcIDs = IdList.copyOf(Arrays.asList(npcID));
+	}
+
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.NPCS);
 	}
 
 	@Override
 	public boolean check(Client client)
 	{
-		return client.getNpcs().stream()
-			.filter(npc -> npc.getInteracting() != null)
-			.filter(npc -> npc.getInteracting() == client.getLocalPlayer())
-			.anyMatch(npc -> npcIDs.contains(npc.getId()));
+		return check(RequirementEvaluationContext.uncached(client));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		return context.isNpcInteractingWithPlayer(npcIDs);
 	}
 }
\ No newline at end of file
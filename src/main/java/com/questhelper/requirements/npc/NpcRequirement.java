@@ -28,8 +28,10 @@ package com.questhelper.requirements.npc;
 
 import com.questhelper.Zone;
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.NPC;
 import net.runelite.api.coords.WorldPoint;
@@ -94,12 +96,23 @@ public class NpcRequirement extends AbstractRequirement
 		this.checkNotInZone = checkNotInZone;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.NPCS);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
-		List<NPC> found = client.getNpcs().stream()
-			.filter(npc -> npc.getId() == npcID)
-			.collect(Collectors.toList());
+		return check(RequirementEvaluationContext.uncached(client));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		Client client = context.getClient();
+		List<NPC> found = context.getNpcs(npcID);
 
 		if (!found.isEmpty())
 		{
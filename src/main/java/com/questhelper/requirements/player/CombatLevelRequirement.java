@@ -28,7 +28,9 @@
 package com.questhelper.requirements.player;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.Operation;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.Player;
 
@@ -63,6 +65,12 @@ public class CombatLevelRequirement extends AbstractRequirement
 		this(Operation.GREATER_EQUAL, requiredLevel);
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.SKILLS);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -28,6 +28,8 @@
 package com.questhelper.requirements.player;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -44,6 +46,12 @@ public class FavourRequirement extends AbstractRequirement
 	private Favour houseFavour;
 	private int percentage;
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARBIT);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -28,7 +28,9 @@
 package com.questhelper.requirements.player;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Stream;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -59,6 +61,20 @@ public class FreeInventorySlotRequirement extends AbstractRequirement
 		this.numSlotsFree = numSlotsFree;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		switch (inventoryID)
+		{
+			case INVENTORY:
+				return RequirementInput.of(RequirementInput.INVENTORY);
+			case EQUIPMENT:
+				return RequirementInput.of(RequirementInput.EQUIPMENT);
+			default:
+				return RequirementInput.unknown();
+		}
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
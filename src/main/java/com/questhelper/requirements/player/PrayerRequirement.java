@@ -27,6 +27,8 @@
 package com.questhelper.requirements.player;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.Prayer;
 
@@ -50,6 +52,12 @@ public class PrayerRequirement extends AbstractRequirement
 		this.text = text;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARBIT);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
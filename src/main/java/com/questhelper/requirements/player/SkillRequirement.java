@@ -28,6 +28,8 @@
 package com.questhelper.requirements.player;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
+import java.util.Set;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.Skill;
@@ -83,6 +85,12 @@ public class SkillRequirement extends AbstractRequirement
 		this.displayText = displayText;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.SKILLS);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -27,7 +27,9 @@
 package com.questhelper.requirements.player;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.Spellbook;
+import java.util.Set;
 import net.runelite.api.Client;
 
 public class SpellbookRequirement extends AbstractRequirement
@@ -40,6 +42,12 @@ public class SpellbookRequirement extends AbstractRequirement
 		this.spellBook = spellBook;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARBIT);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -28,7 +28,9 @@
 package com.questhelper.requirements.quest;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.Operation;
+import java.util.Set;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.VarPlayer;
@@ -63,6 +65,12 @@ public class QuestPointRequirement extends AbstractRequirement
 		this.requiredQuestPoints = requiredQuestPoints;
 		this.operation = operation;
 	}
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARPLAYER);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -29,7 +29,10 @@ package com.questhelper.requirements.quest;
 
 import com.questhelper.QuestHelperQuest;
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import java.util.Locale;
+import java.util.Set;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.QuestState;
@@ -70,10 +73,26 @@ public class QuestRequirement extends AbstractRequirement
 		this.displayText = displayText;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARBIT, RequirementInput.VARPLAYER);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
-		QuestState state = quest.getState(client);
+		return matches(quest.getState(client));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		return matches(context.getQuestState(quest));
+	}
+
+	private boolean matches(QuestState state)
+	{
 		if (requiredState == QuestState.IN_PROGRESS && state == QuestState.FINISHED)
 		{
 			return true;
@@ -26,6 +26,7 @@
  */
 package com.questhelper.requirements.util;
 
+import java.util.Iterator;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -33,27 +34,23 @@ import java.util.stream.Stream;
 public enum LogicType
 {
 	/** Returns true only if all inputs match the supplied predicate. */
-	AND(Stream::allMatch, (n1, n2) -> n1.doubleValue() == n2.doubleValue()),
+	AND(Stream::allMatch),
 	/** Returns true if any inputs match the supplied predicate. */
-	OR(Stream::anyMatch, (n1, n2) -> n1.doubleValue() > 0.0D),
+	OR(Stream::anyMatch),
 	/** The output is false is all inputs match the supplied predicate. Otherwise returns true. */
-	NAND((s,p) -> !s.allMatch(p), (n1, n2) -> n1.doubleValue() < n2.doubleValue()),
+	NAND((s,p) -> !s.allMatch(p)),
 	/** Returns true if all elements do not match the supplied predicate. */
-	NOR(Stream::noneMatch, (n1, n2) -> n1.doubleValue() == 0.0D),
+	NOR(Stream::noneMatch),
 	/** Returns true if either, but not both, inputs match the given predicate.
 	 * This only tests the first two elements of the stream.
 	 */
-	XOR((s,p) -> s.filter(p).limit(2).count() == 1, (n1, n2) -> {
-		return (n1.doubleValue() > 0.0D && !(n2.doubleValue() > 0.0D)) || (n2.doubleValue() > 0.0D && !(n1.doubleValue() > 0.0D));
-	}),
+	XOR((s,p) -> s.filter(p).limit(2).count() == 1),
 	;
 
 	private final BiFunction<Stream, Predicate, Boolean> function;
-	private final BiFunction<Number, Number, Boolean> comparatorFunction;
-	LogicType(BiFunction<Stream, Predicate, Boolean> func, BiFunction<Number, Number, Boolean> comparator)
+	LogicType(BiFunction<Stream, Predicate, Boolean> func)
 	{
 		this.function = func;
-		this.comparatorFunction = comparator;
 	}
 
 	public <T> boolean test(Stream<T> stream, Predicate<T> predicate)
@@ -61,8 +58,48 @@ public enum LogicType
 		return function.apply(stream, predicate);
 	}
 
-	public boolean compare(Number numberToCheck, Number numberToCheckAgainst)
+	/**
+	 * Same as {@link #test(Stream, Predicate)}, but stops as soon as the result is known and does not
+	 * create a stream.
+	 */
+	public <T> boolean test(Iterable<T> elements, Predicate<? super T> predicate)
 	{
-		return comparatorFunction.apply(numberToCheck, numberToCheckAgainst);
+		Iterator<T> iterator = elements.iterator();
+		switch (this)
+		{
+			case AND:
+				while (iterator.hasNext())
+				{
+					if (!predicate.test(iterator.next()))
+					{
+						return false;
+					}
+				}
+				return true;
+			case OR:
+				while (iterator.hasNext())
+				{
+					if (predicate.test(iterator.next()))
+					{
+						return true;
+					}
+				}
+				return false;
+			case NAND:
+				return !AND.test(elements, predicate);
+			case NOR:
+				return !OR.test(elements, predicate);
+			case XOR:
+			default:
+				int matches = 0;
+				while (iterator.hasNext() && matches < 2)
+				{
+					if (predicate.test(iterator.next()))
+					{
+						matches++;
+					}
+				}
+				return matches == 1;
+		}
 	}
 }
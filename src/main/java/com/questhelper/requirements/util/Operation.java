@@ -26,25 +26,33 @@
  */
 package com.questhelper.requirements.util;
 
-import java.util.function.BiFunction;
 import lombok.Getter;
 
 public enum Operation
 {
-	LESS_EQUAL("<=", (x,y) -> x <= y),
-	EQUAL("==", Integer::equals),
-	GREATER_EQUAL(">=", (x,y) -> x >= y),
-	NOT_EQUAL("=/=", (x,y) -> !x.equals(y));
+	LESS_EQUAL("<="),
+	EQUAL("=="),
+	GREATER_EQUAL(">="),
+	NOT_EQUAL("=/=");
 
-	private final BiFunction<Integer, Integer, Boolean> operation;
 	@Getter
 	private String displayText;
-	Operation(String displayText, BiFunction<Integer, Integer, Boolean> operation) {
+	Operation(String displayText) {
 		this.displayText = displayText;
-		this.operation = operation;
 	}
 
 	public boolean check(int numberToCheck, int numberToCheckAgainst) {
-		return operation.apply(numberToCheck, numberToCheckAgainst);
+		switch (this)
+		{
+			case LESS_EQUAL:
+				return numberToCheck <= numberToCheckAgainst;
+			case EQUAL:
+				return numberToCheck == numberToCheckAgainst;
+			case GREATER_EQUAL:
+				return numberToCheck >= numberToCheckAgainst;
+			case NOT_EQUAL:
+			default:
+				return numberToCheck != numberToCheckAgainst;
+		}
 	}
 }
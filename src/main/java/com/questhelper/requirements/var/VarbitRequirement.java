@@ -28,9 +28,12 @@
 package com.questhelper.requirements.var;
 
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.Operation;
 import java.math.BigInteger;
 import java.util.Locale;
+import java.util.Set;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.Varbits;
@@ -131,15 +134,32 @@ public class VarbitRequirement extends AbstractRequirement
 		this.displayText = varbitID + " must have the " + text + " bit set.";
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARBIT);
+	}
+
 	@Override
 	public boolean check(Client client)
+	{
+		return matches(client.getVarbitValue(varbitID));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		return matches(context.getVarbitValue(this, varbitID));
+	}
+
+	private boolean matches(int varbitValue)
 	{
 		if (bitPosition >= 0)
 		{
-			return bitIsSet == BigInteger.valueOf(client.getVarbitValue(varbitID)).testBit(bitPosition);
+			return bitIsSet == BigInteger.valueOf(varbitValue).testBit(bitPosition);
 		}
 
-		return operation.check(client.getVarbitValue(varbitID), requiredValue);
+		return operation.check(varbitValue, requiredValue);
 	}
 
 	@Override
@@ -27,8 +27,11 @@
 package com.questhelper.requirements.var;
 
 import com.questhelper.requirements.conditional.ConditionForStep;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
+import com.questhelper.requirements.evaluation.RequirementInput;
 import com.questhelper.requirements.util.Operation;
 import java.math.BigInteger;
+import java.util.Set;
 import net.runelite.api.Client;
 
 public class VarplayerRequirement extends ConditionForStep
@@ -71,13 +74,30 @@ public class VarplayerRequirement extends ConditionForStep
 		this.bitIsSet = bitIsSet;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARPLAYER);
+	}
+
 	@Override
 	public boolean check(Client client)
+	{
+		return matches(client.getVarpValue(varplayerId));
+	}
+
+	@Override
+	public boolean check(RequirementEvaluationContext context)
+	{
+		return matches(context.getVarpValue(this, varplayerId));
+	}
+
+	private boolean matches(int varpValue)
 	{
 		if (bitPosition >= 0)
 		{
-			return bitIsSet == BigInteger.valueOf(client.getVarpValue(varplayerId)).testBit(bitPosition);
+			return bitIsSet == BigInteger.valueOf(varpValue).testBit(bitPosition);
 		}
-		return operation.check(client.getVarpValue(varplayerId), value);
+		return operation.check(varpValue, value);
 	}
 }
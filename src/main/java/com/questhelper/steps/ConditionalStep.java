@@ -33,21 +33,15 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
-import net.runelite.api.ChatMessageType;
 import net.runelite.api.GameState;
-import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
-import net.runelite.api.events.NpcChanged;
-import net.runelite.api.events.NpcDespawned;
-import net.runelite.api.events.NpcSpawned;
-import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.requirements.ChatMessageRequirement;
+import com.questhelper.tracking.ChatMatcher;
 import com.questhelper.requirements.conditional.Conditions;
-import com.questhelper.requirements.conditional.NpcCondition;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -55,24 +49,36 @@ import org.apache.commons.lang3.ArrayUtils;
 public class ConditionalStep extends QuestStep implements OwnerStep
 {
 	@Inject
-	protected EventBus eventBus;
+	protected StepEventRouter stepEventRouter;
+
+	@Inject
+	private ChatMatcher chatMatcher;
 
 	protected boolean started = false;
 
 	protected final LinkedHashMap<Requirement, QuestStep> steps;
 	protected final List<ChatMessageRequirement> chatConditions = new ArrayList<>();
-	protected final List<NpcCondition> npcConditions = new ArrayList<>();
 
 	protected QuestStep currentStep;
 
 	protected Requirement[] requirements;
 
+	/**
+	 * The conditions of {@link #steps} in the order they're checked, with the step each one leads to at the same
+	 * index. The default step is kept separately. Rebuilt whenever a step is added.
+	 */
+	private Requirement[] decisionConditions;
+	private QuestStep[] decisionSteps;
+
+	/** The tick the current step was last picked on, so a parent and this step's own tick don't both pick it */
+	private int lastUpdatedTick = -1;
+
 	public ConditionalStep(QuestHelper questHelper, QuestStep step, Requirement... requirements)
 	{
 		super(questHelper);
 		this.requirements = requirements;
 		this.steps = new LinkedHashMap<>();
-		this.steps.put(null, step);
+		putStep(null, step);
 	}
 
 	public ConditionalStep(QuestHelper questHelper, QuestStep step, String text, Requirement... requirements)
@@ -80,61 +86,61 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 		super(questHelper, text);
 		this.requirements = requirements;
 		this.steps = new LinkedHashMap<>();
-		this.steps.put(null, step);
+		putStep(null, step);
 	}
 
 	public void addStep(Requirement requirement, QuestStep step)
 	{
-		this.steps.put(requirement, step);
+		putStep(requirement, step);
 
 		checkForChatConditions(requirement);
-		checkForNpcConditions(requirement);
 	}
 
 	public void addStep(Requirement requirement, QuestStep step, boolean isLockable)
 	{
 		step.setLockable(isLockable);
-		this.steps.put(requirement, step);
+		putStep(requirement, step);
 
 		checkForChatConditions(requirement);
-		checkForNpcConditions(requirement);
 	}
 
 	public void addConditionalStep(Requirement requirement, QuestStep step)
 	{
-		this.steps.put(new Conditions(requirement), step);
+		putStep(new Conditions(requirement), step);
 
 		checkForChatConditions(requirement);
-		checkForNpcConditions(requirement);
 	}
 
 	public void addConditionalStep(Requirement requirement, QuestStep step, boolean isLockable)
 	{
 		Conditions conditions = new Conditions(requirement);
 		step.setLockable(isLockable);
-		this.steps.put(conditions, step);
+		putStep(conditions, step);
 
 		checkForChatConditions(requirement);
-		checkForNpcConditions(requirement);
 	}
 
-	public void checkForChatConditions(Requirement requirement)
+	private void putStep(Requirement requirement, QuestStep step)
 	{
-		if (!(requirement instanceof InitializableRequirement))
-		{
-			return;
-		}
-
-		InitializableRequirement condition = (InitializableRequirement) requirement;
+		steps.put(requirement, step);
+		decisionConditions = null;
+		decisionSteps = null;
+	}
 
-		if (condition instanceof ChatMessageRequirement && !chatConditions.contains(condition))
+	private void buildDecisionTable()
+	{
+		List<Requirement> conditions = new ArrayList<>(steps.size());
+		List<QuestStep> conditionSteps = new ArrayList<>(steps.size());
+		steps.forEach((condition, step) ->
 		{
-			chatConditions.add((ChatMessageRequirement) condition);
-		}
-		condition.getConditions().forEach(this::checkForChatConditions);
+			conditions.add(condition);
+			conditionSteps.add(step);
+		});
+		decisionConditions = conditions.toArray(new Requirement[0]);
+		decisionSteps = conditionSteps.toArray(new QuestStep[0]);
 	}
 
-	public void checkForNpcConditions(Requirement requirement)
+	public void checkForChatConditions(Requirement requirement)
 	{
 		if (!(requirement instanceof InitializableRequirement))
 		{
@@ -143,17 +149,15 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 
 		InitializableRequirement condition = (InitializableRequirement) requirement;
 
-		if (condition.getConditions().isEmpty())
+		if (condition instanceof ChatMessageRequirement && !chatConditions.contains(condition))
 		{
-			if (condition instanceof NpcCondition && !npcConditions.contains(condition))
+			chatConditions.add((ChatMessageRequirement) condition);
+			if (started)
 			{
-				npcConditions.add((NpcCondition) condition);
+				chatMatcher.register((ChatMessageRequirement) condition);
 			}
 		}
-		else
-		{
-			condition.getConditions().forEach(this::checkForNpcConditions);
-		}
+		condition.getConditions().forEach(this::checkForChatConditions);
 	}
 
 	@Override
@@ -163,6 +167,8 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 		steps.keySet().stream()
 			.filter(InitializableRequirement.class::isInstance)
 			.forEach(req -> ((InitializableRequirement) req).initialize(client));
+		chatConditions.forEach(chatMatcher::register);
+		lastUpdatedTick = client.getTickCount();
 		updateSteps();
 		started = true;
 	}
@@ -170,6 +176,10 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 	@Override
 	public void shutDown()
 	{
+		if (started)
+		{
+			chatConditions.forEach(chatMatcher::unregister);
+		}
 		started = false;
 		shutDownStep();
 		currentStep = null;
@@ -180,7 +190,28 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 	{
 		if (started)
 		{
-			updateSteps();
+			updateStepsOnce();
+		}
+	}
+
+	/**
+	 * Pick the current step for this tick, then do the same for the current step if it's a nested
+	 * {@link ConditionalStep}. This lets the root step resolve the whole hierarchy top-down in one pass, with
+	 * each nested step skipping its own tick as it has already been evaluated.
+	 */
+	private void updateStepsOnce()
+	{
+		int tick = client.getTickCount();
+		if (tick == lastUpdatedTick)
+		{
+			return;
+		}
+		lastUpdatedTick = tick;
+
+		updateSteps();
+		if (currentStep instanceof ConditionalStep)
+		{
+			((ConditionalStep) currentStep).updateStepsOnce();
 		}
 	}
 
@@ -201,63 +232,49 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 		ArrayUtils.add(requirements, requirement);
 	}
 
-	@Subscribe
-	public void onChatMessage(ChatMessage chatMessage)
+	protected void updateSteps()
 	{
-		if (chatMessage.getType() == ChatMessageType.GAMEMESSAGE || chatMessage.getType() == ChatMessageType.ENGINE)
+		if (decisionConditions == null)
 		{
-			chatConditions.forEach(step -> step.validateCondition(client, chatMessage.getMessage()));
+			buildDecisionTable();
 		}
-	}
-
-	@Subscribe
-	public void onNpcSpawned(NpcSpawned event)
-	{
-		npcConditions.forEach(npc -> npc.checkNpcSpawned(event.getNpc()));
-	}
-
-	@Subscribe
-	public void onNpcDespawned(NpcDespawned event)
-	{
-		npcConditions.forEach(npc -> npc.checkNpcDespawned(event.getNpc()));
-	}
-
-	@Subscribe
-	public void onNpcChanged(NpcChanged npcCompositionChanged)
-	{
-		npcConditions.forEach(npc -> npc.checkNpcChanged(npcCompositionChanged));
-	}
 
-	protected void updateSteps()
-	{
-		Requirement lastPossibleCondition = null;
+		QuestStep defaultStep = null;
+		QuestStep lastPossibleStep = null;
 
-		for (Requirement conditions : steps.keySet())
+		for (int i = 0; i < decisionConditions.length; i++)
 		{
-			boolean stepIsLocked = steps.get(conditions).isLocked();
-			if (conditions != null && conditions.check(client) && !stepIsLocked)
+			Requirement conditions = decisionConditions[i];
+			QuestStep step = decisionSteps[i];
+			boolean stepIsLocked = step.isLocked();
+			if (conditions == null)
+			{
+				defaultStep = step;
+			}
+
+			if (conditions != null && checkRequirement(conditions) && !stepIsLocked)
 			{
-				startUpStep(steps.get(conditions));
+				startUpStep(step);
 				return;
 			}
-			else if (steps.get(conditions).isBlocker() && stepIsLocked)
+			else if (step.isBlocker() && stepIsLocked)
 			{
-				startUpStep(steps.get(lastPossibleCondition));
+				startUpStep(lastPossibleStep == null ? steps.get(null) : lastPossibleStep);
 				return;
 			}
 			else if (conditions != null && !stepIsLocked)
 			{
-				lastPossibleCondition = conditions;
+				lastPossibleStep = step;
 			}
 		}
 
-		if (!steps.get(null).isLocked())
+		if (!defaultStep.isLocked())
 		{
-			startUpStep(steps.get(null));
+			startUpStep(defaultStep);
 		}
 		else
 		{
-			startUpStep(steps.get(lastPossibleCondition));
+			startUpStep(lastPossibleStep == null ? defaultStep : lastPossibleStep);
 		}
 	}
 
@@ -265,7 +282,7 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 	{
 		if (currentStep == null)
 		{
-			eventBus.register(step);
+			stepEventRouter.register(step);
 			step.startUp();
 			currentStep = step;
 			return;
@@ -274,7 +291,7 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 		if (!step.equals(currentStep))
 		{
 			shutDownStep();
-			eventBus.register(step);
+			stepEventRouter.register(step);
 			step.startUp();
 			currentStep = step;
 		}
@@ -284,7 +301,7 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 	{
 		if (currentStep != null)
 		{
-			eventBus.unregister(currentStep);
+			stepEventRouter.unregister(currentStep);
 			currentStep.shutDown();
 			currentStep = null;
 		}
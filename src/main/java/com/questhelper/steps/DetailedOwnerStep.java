@@ -33,7 +33,6 @@ import java.awt.Graphics2D;
 import java.util.Collection;
 import java.util.List;
 import net.runelite.api.Client;
-import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -44,7 +43,7 @@ public class DetailedOwnerStep extends QuestStep implements OwnerStep
 	protected Requirement[] requirements;
 
 	@Inject
-	protected EventBus eventBus;
+	protected StepEventRouter stepEventRouter;
 
 	@Inject
 	protected Client client;
@@ -83,7 +82,7 @@ public class DetailedOwnerStep extends QuestStep implements OwnerStep
 		if (currentStep == null)
 		{
 			currentStep = step;
-			eventBus.register(currentStep);
+			stepEventRouter.register(currentStep);
 			currentStep.startUp();
 			return;
 		}
@@ -91,7 +90,7 @@ public class DetailedOwnerStep extends QuestStep implements OwnerStep
 		if (!step.equals(currentStep))
 		{
 			shutDownStep();
-			eventBus.register(step);
+			stepEventRouter.register(step);
 			step.startUp();
 			currentStep = step;
 		}
@@ -101,7 +100,7 @@ public class DetailedOwnerStep extends QuestStep implements OwnerStep
 	{
 		if (currentStep != null)
 		{
-			eventBus.unregister(currentStep);
+			stepEventRouter.unregister(currentStep);
 			currentStep.shutDown();
 			currentStep = null;
 		}
@@ -27,14 +27,18 @@ package com.questhelper.steps;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
+import com.questhelper.QuestHelperConfigSnapshot;
 import com.questhelper.QuestHelperPlugin;
 import com.questhelper.QuestHelperWorldMapPoint;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.requirements.item.ItemRequirement;
 import com.questhelper.requirements.Requirement;
 import com.questhelper.steps.overlay.DirectionArrow;
+import com.questhelper.steps.overlay.StepRenderModel;
 import com.questhelper.steps.overlay.WorldLines;
 import com.questhelper.steps.tools.QuestPerspective;
+import com.questhelper.tracking.GroundItemIndex;
+import com.questhelper.util.IdList;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
@@ -43,8 +47,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
 import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.Setter;
@@ -53,7 +56,6 @@ import net.runelite.api.Perspective;
 import net.runelite.api.Player;
 import net.runelite.api.Point;
 import net.runelite.api.Tile;
-import net.runelite.api.TileItem;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameStateChanged;
@@ -73,12 +75,14 @@ public class DetailedQuestStep extends QuestStep
 	@Inject
 	WorldMapPointManager worldMapPointManager;
 
+	@Inject
+	GroundItemIndex groundItemIndex;
+
 	protected WorldPoint worldPoint;
 
 	@Setter
 	protected WorldPoint worldMapPoint;
 
-	@Setter
 	protected List<WorldPoint> linePoints;
 
 	@Setter
@@ -89,6 +93,10 @@ public class DetailedQuestStep extends QuestStep
 
 	protected Multimap<Tile, Integer> tileHighlights = ArrayListMultimap.create();
 
+	/** What the step draws, rebuilt once per tick or when something it's built from changes */
+	private StepRenderModel renderModel;
+	private int renderModelTick = -1;
+
 	protected QuestHelperWorldMapPoint mapPoint;
 
 	protected static final int MAX_DISTANCE = 2350;
@@ -139,6 +147,7 @@ public class DetailedQuestStep extends QuestStep
 	{
 		worldMapPointManager.removeIf(QuestHelperWorldMapPoint.class::isInstance);
 		tileHighlights.clear();
+		invalidateRenderModel();
 		started = false;
 	}
 
@@ -174,12 +183,20 @@ public class DetailedQuestStep extends QuestStep
 		if (event.getGameState() == GameState.LOADING)
 		{
 			tileHighlights.clear();
+			invalidateRenderModel();
 		}
 	}
 
+	public void setLinePoints(List<WorldPoint> linePoints)
+	{
+		this.linePoints = linePoints;
+		invalidateRenderModel();
+	}
+
 	public void setWorldPoint(WorldPoint worldPoint)
 	{
 		this.worldPoint = worldPoint;
+		invalidateRenderModel();
 		if (worldMapPoint == null && started)
 		{
 			if (mapPoint != null)
@@ -221,24 +238,78 @@ public class DetailedQuestStep extends QuestStep
 			renderArrow(graphics);
 		}
 
+		StepRenderModel model = getRenderModel();
+		if (model.getLinePoints().size() > 1)
+		{
+			WorldLines.drawLocalLinesOnWorld(graphics, client, model.getLinePoints(), model.getTargetColor());
+		}
+
+		for (Tile tile : model.getHighlightedTiles())
+		{
+			renderTileHighlight(tile, graphics, model.getTargetColor());
+		}
+	}
+
+	/**
+	 * @return what the step draws this tick, which the render methods should only draw
+	 */
+	protected StepRenderModel getRenderModel()
+	{
+		int tick = client.getTickCount();
+		if (renderModel == null || tick != renderModelTick)
+		{
+			renderModel = buildRenderModel().build();
+			renderModelTick = tick;
+		}
+		return renderModel;
+	}
+
+	/**
+	 * Work out what the step draws. Called at most once per tick, unless {@link #invalidateRenderModel()} is called.
+	 * Steps which draw more should add to the builder from here.
+	 */
+	protected StepRenderModel.StepRenderModelBuilder buildRenderModel()
+	{
+		QuestHelperConfigSnapshot config = questHelper.getConfigSnapshot();
+		StepRenderModel.StepRenderModelBuilder model = StepRenderModel.builder()
+			.targetColor(config.getTargetOverlayColor())
+			.targetFillColor(config.getTargetFillColor())
+			.targetOutlineColor(config.getTargetOutlineColor())
+			.highlightedTiles(findHighlightedTiles());
+
+		if (worldPoint != null)
+		{
+			Collection<WorldPoint> localWorldPoints = QuestPerspective.toLocalInstance(client, worldPoint);
+			model.worldPointInScene(!localWorldPoints.isEmpty());
+			model.worldPointLocation(QuestPerspective.getInstanceLocalPoint(client, worldPoint));
+		}
+
 		if (linePoints != null && linePoints.size() > 1)
 		{
-			WorldLines.drawLinesOnWorld(graphics, client, linePoints, getQuestHelper().getConfig().targetOverlayColor());
+			model.linePoints(WorldLines.toInstanceLocalPoints(client, linePoints));
 		}
+		return model;
+	}
 
-		tileHighlights.keySet().forEach(tile -> checkAllTilesForHighlighting(tile, tileHighlights.get(tile), graphics));
+	/**
+	 * Rebuild the render model before the next frame, for changes which happen part way through a tick
+	 */
+	protected void invalidateRenderModel()
+	{
+		renderModel = null;
 	}
 
 	public void renderArrow(Graphics2D graphics)
 	{
-		if (questHelper.getConfig().showMiniMapArrow())
+		if (questHelper.getConfigSnapshot().isShowMiniMapArrow())
 		{
 			if (worldPoint == null || hideWorldArrow)
 			{
 				return;
 			}
 
-			LocalPoint lp = QuestPerspective.getInstanceLocalPoint(client, worldPoint);
+			StepRenderModel model = getRenderModel();
+			LocalPoint lp = model.getWorldPointLocation();
 			if (lp == null)
 			{
 				return;
@@ -253,8 +324,7 @@ public class DetailedQuestStep extends QuestStep
 			int startX = poly.getBounds().x + (poly.getBounds().width / 2);
 			int startY = poly.getBounds().y + (poly.getBounds().height / 2);
 
-			DirectionArrow.drawWorldArrow(graphics, getQuestHelper().getConfig().targetOverlayColor(),
-				startX, startY);
+			DirectionArrow.drawWorldArrow(graphics, model.getTargetColor(), startX, startY);
 		}
 	}
 
@@ -264,7 +334,8 @@ public class DetailedQuestStep extends QuestStep
 		renderInventory(graphics);
 		if (!hideMinimapLines)
 		{
-			WorldLines.createMinimapLines(graphics, client, linePoints, getQuestHelper().getConfig().targetOverlayColor());
+			StepRenderModel model = getRenderModel();
+			WorldLines.createLocalMinimapLines(graphics, client, model.getLinePoints(), model.getTargetColor());
 		}
 		renderMapLines(graphics);
 
@@ -273,7 +344,7 @@ public class DetailedQuestStep extends QuestStep
 
 	public void renderMapArrows(Graphics2D graphics)
 	{
-		if (questHelper.getConfig().showMiniMapArrow())
+		if (questHelper.getConfigSnapshot().isShowMiniMapArrow())
 		{
 			if (mapPoint == null)
 			{
@@ -306,14 +377,14 @@ public class DetailedQuestStep extends QuestStep
 		{
 			worldMapLines = worldLinePoints;
 		}
-		WorldLines.createWorldMapLines(graphics, client, worldMapLines, getQuestHelper().getConfig().targetOverlayColor());
+		WorldLines.createWorldMapLines(graphics, client, worldMapLines, getQuestHelper().getConfigSnapshot().getTargetOverlayColor());
 	}
 
 	public void renderMinimapArrow(Graphics2D graphics)
 	{
-		if (questHelper.getConfig().showMiniMapArrow())
+		if (questHelper.getConfigSnapshot().isShowMiniMapArrow())
 		{
-			DirectionArrow.renderMinimapArrow(graphics, client, worldPoint, getQuestHelper().getConfig().targetOverlayColor());
+			DirectionArrow.renderMinimapArrow(graphics, client, worldPoint, getQuestHelper().getConfigSnapshot().getTargetOverlayColor());
 		}
 	}
 
@@ -338,7 +409,7 @@ public class DetailedQuestStep extends QuestStep
 		}
 		stream
 			.distinct()
-			.map(req -> req.getDisplayTextWithChecks(client))
+			.map(req -> req.getDisplayTextWithChecks(requirementContext))
 			.flatMap(Collection::stream)
 			.forEach(line -> panelComponent.getChildren().add(line));
 
@@ -357,6 +428,7 @@ public class DetailedQuestStep extends QuestStep
 			return;
 		}
 
+		Color fillColor = questHelper.getConfigSnapshot().getWidgetFillColor();
 		for (WidgetItem item : inventoryWidget.getWidgetItems())
 		{
 			for (Requirement requirement : requirements)
@@ -364,10 +436,7 @@ public class DetailedQuestStep extends QuestStep
 				if (isValidRequirementForRenderInInventory(requirement, item))
 				{
 					Rectangle slotBounds = item.getCanvasBounds();
-					int red = getQuestHelper().getConfig().targetOverlayColor().getRed();
-					int green = getQuestHelper().getConfig().targetOverlayColor().getGreen();
-					int blue = getQuestHelper().getConfig().targetOverlayColor().getBlue();
-					graphics.setColor(new Color(red, green, blue, 65));
+					graphics.setColor(fillColor);
 					graphics.fill(slotBounds);
 				}
 
@@ -382,20 +451,16 @@ public class DetailedQuestStep extends QuestStep
 
 	private boolean isValidRenderRequirementInInventory(ItemRequirement requirement, WidgetItem item)
 	{
-		return requirement.shouldHighlightInInventory(client) && requirement.getAllIds().contains(item.getId());
+		return requirement.shouldHighlightInInventory(requirementContext) && requirement.containsId(item.getId());
 	}
 
 	@Subscribe
 	public void onItemSpawned(ItemSpawned itemSpawned)
 	{
-		TileItem item = itemSpawned.getItem();
-		Tile tile = itemSpawned.getTile();
-		for (Requirement requirement : requirements)
+		if (isItemToHighlight(requirements, itemSpawned.getItem().getId()))
 		{
-			if (isItemRequirement(requirement) && requirementContainsID((ItemRequirement) requirement, item.getId()))
-			{
-				tileHighlights.get(tile).add(itemSpawned.getItem().getId());
-			}
+			tileHighlights.get(itemSpawned.getTile()).add(itemSpawned.getItem().getId());
+			invalidateRenderModel();
 		}
 	}
 
@@ -403,15 +468,10 @@ public class DetailedQuestStep extends QuestStep
 	public void onItemDespawned(ItemDespawned itemDespawned)
 	{
 		Tile tile = itemDespawned.getTile();
-		if (tileHighlights.containsKey(tile))
+		if (tileHighlights.containsKey(tile) && isItemToHighlight(requirements, itemDespawned.getItem().getId()))
 		{
-			for (Requirement requirement : requirements)
-			{
-				if (isItemRequirement(requirement) && requirementContainsID((ItemRequirement) requirement, itemDespawned.getItem().getId()))
-				{
-					tileHighlights.get(tile).remove(itemDespawned.getItem().getId());
-				}
-			}
+			tileHighlights.get(tile).remove(itemDespawned.getItem().getId());
+			invalidateRenderModel();
 		}
 	}
 
@@ -421,50 +481,81 @@ public class DetailedQuestStep extends QuestStep
 		{
 			return;
 		}
-		Tile[][] squareOfTiles = client.getScene().getTiles()[client.getPlane()];
 
-		// Reduce the two dimensional array into a single list for processing.
-		List<Tile> tiles = Stream.of(squareOfTiles)
-			.flatMap(Arrays::stream)
-			.filter(Objects::nonNull)
-			.collect(Collectors.toList());
-		for (Tile tile : tiles)
+		List<ItemRequirement> itemRequirements = new ArrayList<>();
+		for (Requirement requirement : requirements)
+		{
+			if (isItemRequirement(requirement) && requirementIsItem((ItemRequirement) requirement))
+			{
+				itemRequirements.add((ItemRequirement) requirement);
+			}
+		}
+
+		int plane = client.getPlane();
+		for (int r = 0; r < itemRequirements.size(); r++)
 		{
-			List<TileItem> items = tile.getGroundItems();
-			if (items != null)
+			IdList itemIds = itemRequirements.get(r).getAllIds();
+			for (int i = 0; i < itemIds.size(); i++)
 			{
-				for (TileItem item : items)
+				int itemId = itemIds.getId(i);
+				if (!isNewItemId(itemRequirements, r, itemId))
 				{
-					if (item == null)
-					{
-						continue;
-					}
-					for (Requirement requirement : requirements)
-					{
-						if (isValidRequirementForTileItem(requirement, item))
-						{
-							tileHighlights.get(tile).add(item.getId());
-							break;
-						}
-					}
+					continue;
 				}
+				addItemTiles(itemId, plane);
+			}
+		}
+		invalidateRenderModel();
+	}
+
+	/**
+	 * @return true if none of the item requirements before the given index accept the item, so its tiles
+	 * haven't already been added
+	 */
+	private boolean isNewItemId(List<ItemRequirement> itemRequirements, int index, int itemId)
+	{
+		for (int r = 0; r < index; r++)
+		{
+			if (itemRequirements.get(r).containsId(itemId))
+			{
+				return false;
 			}
 		}
+		return true;
 	}
 
-	private boolean isValidRequirementForTileItem(Requirement requirement, TileItem item)
+	private void addItemTiles(int itemId, int plane)
 	{
-		return isItemRequirement(requirement) && requirementMatchesTileItem((ItemRequirement) requirement, item);
+		for (Map.Entry<Tile, Integer> entry : groundItemIndex.getTiles(itemId).entrySet())
+		{
+			if (entry.getKey().getPlane() != plane)
+			{
+				continue;
+			}
+			// One id per stack on the tile, so despawning one stack leaves the others highlighted
+			for (int stack = 0; stack < entry.getValue(); stack++)
+			{
+				tileHighlights.get(entry.getKey()).add(itemId);
+			}
+		}
 	}
 
-	private boolean isItemRequirement(Requirement requirement)
+	private boolean isItemToHighlight(Collection<Requirement> requirements, int itemId)
 	{
-		return requirement != null && requirement.getClass() == ItemRequirement.class;
+		for (Requirement requirement : requirements)
+		{
+			if (isItemRequirement(requirement) && requirementIsItem((ItemRequirement) requirement)
+				&& requirementContainsID((ItemRequirement) requirement, itemId))
+			{
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private boolean requirementMatchesTileItem(ItemRequirement requirement, TileItem item)
+	private boolean isItemRequirement(Requirement requirement)
 	{
-		return requirementIsItem(requirement) && requirementContainsID(requirement, item.getId());
+		return requirement != null && requirement.getClass() == ItemRequirement.class;
 	}
 
 	private boolean requirementIsItem(ItemRequirement requirement)
@@ -474,20 +565,65 @@ public class DetailedQuestStep extends QuestStep
 
 	private boolean requirementContainsID(ItemRequirement requirement, int id)
 	{
-		return requirement.getAllIds().contains(id);
+		return requirement.containsId(id);
 	}
 
-	private boolean requirementContainsID(ItemRequirement requirement, Collection<Integer> ids)
+	/**
+	 * @return the tiles in {@link #tileHighlights} with an item still needed by a requirement
+	 */
+	private List<Tile> findHighlightedTiles()
 	{
-		return ids.stream().anyMatch(id -> requirementContainsID(requirement, id));
+		List<Tile> highlightedTiles = new ArrayList<>();
+		if (tileHighlights.isEmpty())
+		{
+			return highlightedTiles;
+		}
+
+		List<ItemRequirement> neededItems = new ArrayList<>();
+		for (Requirement requirement : requirements)
+		{
+			if (isReqValidForHighlighting(requirement))
+			{
+				neededItems.add((ItemRequirement) requirement);
+			}
+		}
+
+		if (neededItems.isEmpty())
+		{
+			return highlightedTiles;
+		}
+
+		for (Map.Entry<Tile, Collection<Integer>> entry : tileHighlights.asMap().entrySet())
+		{
+			for (int id : entry.getValue())
+			{
+				if (isNeededItem(neededItems, id))
+				{
+					highlightedTiles.add(entry.getKey());
+					break;
+				}
+			}
+		}
+		return highlightedTiles;
 	}
 
-	private void checkAllTilesForHighlighting(Tile tile, Collection<Integer> ids, Graphics2D graphics)
+	/**
+	 * @return true if any of the needed items can be the given item
+	 */
+	private boolean isNeededItem(List<ItemRequirement> neededItems, int itemId)
 	{
-		if (inCutscene)
+		for (ItemRequirement neededItem : neededItems)
 		{
-			return;
+			if (neededItem.containsId(itemId))
+			{
+				return true;
+			}
 		}
+		return false;
+	}
+
+	private void renderTileHighlight(Tile tile, Graphics2D graphics, Color color)
+	{
 		Player player = client.getLocalPlayer();
 
 		if (player == null)
@@ -496,43 +632,32 @@ public class DetailedQuestStep extends QuestStep
 		}
 
 		LocalPoint playerLocation = player.getLocalLocation();
-		if (!ids.isEmpty())
-		{
-			LocalPoint location = tile.getLocalLocation();
-
-			if (location == null)
-			{
-				return;
-			}
+		LocalPoint location = tile.getLocalLocation();
 
-			if (location.distanceTo(playerLocation) > MAX_DISTANCE)
-			{
-				return;
-			}
+		if (location == null)
+		{
+			return;
+		}
 
-			Polygon poly = Perspective.getCanvasTilePoly(client, location);
-			if (poly == null)
-			{
-				return;
-			}
+		if (location.distanceTo(playerLocation) > MAX_DISTANCE)
+		{
+			return;
+		}
 
-			for (Requirement requirement : requirements)
-			{
-				if (isReqValidForHighlighting(requirement, ids))
-				{
-					OverlayUtil.renderPolygon(graphics, poly, questHelper.getConfig().targetOverlayColor());
-					return;
-				}
-			}
+		Polygon poly = Perspective.getCanvasTilePoly(client, location);
+		if (poly == null)
+		{
+			return;
 		}
+
+		OverlayUtil.renderPolygon(graphics, poly, color);
 	}
 
-	private boolean isReqValidForHighlighting(Requirement requirement, Collection<Integer> ids)
+	private boolean isReqValidForHighlighting(Requirement requirement)
 	{
 		return isItemRequirement(requirement)
 			&& requirementIsItem((ItemRequirement) requirement)
-			&& requirementContainsID((ItemRequirement) requirement, ids)
-			&& ((ItemRequirement) requirement).shouldRenderItemHighlights(client)
-			&& !requirement.check(client);
+			&& ((ItemRequirement) requirement).shouldRenderItemHighlights(requirementContext)
+			&& !requirementContext.check(requirement);
 	}
 }
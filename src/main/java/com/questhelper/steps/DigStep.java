@@ -95,7 +95,7 @@ public class DigStep extends DetailedQuestStep
 			return;
 		}
 
-		OverlayUtil.renderTileOverlay(client, graphics, localLocation, getSpadeImage(), questHelper.getConfig().targetOverlayColor());
+		OverlayUtil.renderTileOverlay(client, graphics, localLocation, getSpadeImage(), getRenderModel().getTargetColor());
 	}
 
 	private BufferedImage getSpadeImage()
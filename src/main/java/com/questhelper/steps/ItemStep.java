@@ -3,6 +3,7 @@ package com.questhelper.steps;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.requirements.Requirement;
 import com.questhelper.steps.overlay.DirectionArrow;
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
 import net.runelite.api.Perspective;
@@ -24,6 +25,7 @@ public class ItemStep extends DetailedQuestStep
 	@Override
 	public void renderArrow(Graphics2D graphics)
 	{
+		Color targetColor = getRenderModel().getTargetColor();
 		tileHighlights.forEach((tile, ids) -> {
 			LocalPoint lp = tile.getLocalLocation();
 
@@ -36,7 +38,7 @@ public class ItemStep extends DetailedQuestStep
 			int startX = poly.getBounds().x + (poly.getBounds().width / 2);
 			int startY =  poly.getBounds().y + (poly.getBounds().height / 2);
 
-			DirectionArrow.drawWorldArrow(graphics, getQuestHelper().getConfig().targetOverlayColor(), startX, startY);
+			DirectionArrow.drawWorldArrow(graphics, targetColor, startX, startY);
 		});
 	}
 }
@@ -29,7 +29,8 @@ import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.requirements.Requirement;
 import com.questhelper.steps.overlay.DirectionArrow;
-import com.questhelper.steps.tools.QuestPerspective;
+import com.questhelper.steps.overlay.StepRenderModel;
+import com.questhelper.tracking.NpcTracker;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.Shape;
@@ -37,7 +38,6 @@ import java.awt.geom.Line2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 import javax.inject.Inject;
 import lombok.Setter;
@@ -60,6 +60,9 @@ public class NpcStep extends DetailedQuestStep
 	@Inject
 	protected Client client;
 
+	@Inject
+	private NpcTracker npcTracker;
+
 	private final int npcID;
 	private final ArrayList<Integer> alternateNpcIDs = new ArrayList<>();
 	private final List<WorldPoint> safespots = new ArrayList<>();
@@ -99,23 +102,34 @@ public class NpcStep extends DetailedQuestStep
 	{
 		super.startUp();
 
-		for (NPC npc : client.getNpcs())
+		addExistingNpcs(npcID);
+		for (int alternateNpcID : alternateNpcIDs)
 		{
-			if (npcID == npc.getId() || alternateNpcIDs.contains(npc.getId()))
+			addExistingNpcs(alternateNpcID);
+		}
+	}
+
+	private void addExistingNpcs(int id)
+	{
+		for (NPC npc : npcTracker.getNpcs(id))
+		{
+			WorldPoint npcPoint = npcTracker.getLocation(npc);
+			if (this.npcs.size() == 0 && (worldPoint == null || npcPoint.distanceTo(worldPoint) < maxRoamRange))
 			{
-				WorldPoint npcPoint = WorldPoint.fromLocalInstance(client, npc.getLocalLocation());
-				if (this.npcs.size() == 0 && (worldPoint == null || npcPoint.distanceTo(worldPoint) < maxRoamRange))
-				{
-					this.npcs.add(npc);
-				}
-				else if (allowMultipleHighlights)
-				{
-					this.npcs.add(npc);
-				}
+				this.npcs.add(npc);
+			}
+			else if (allowMultipleHighlights)
+			{
+				this.npcs.add(npc);
 			}
 		}
 	}
 
+	private boolean isTargetNpc(int id)
+	{
+		return id == npcID || alternateNpcIDs.contains(id);
+	}
+
 	public void addAlternateNpcs(Integer... alternateNpcIDs)
 	{
 		this.alternateNpcIDs.addAll(Arrays.asList(alternateNpcIDs));
@@ -124,6 +138,7 @@ public class NpcStep extends DetailedQuestStep
 	public void addSafeSpots(WorldPoint... points)
 	{
 		this.safespots.addAll(Arrays.asList(points));
+		invalidateRenderModel();
 	}
 
 	public List<Integer> allIds()
@@ -155,9 +170,9 @@ public class NpcStep extends DetailedQuestStep
 	@Subscribe
 	public void onNpcSpawned(NpcSpawned event)
 	{
-		if (event.getNpc().getId() == npcID || alternateNpcIDs.contains(event.getNpc().getId()))
+		if (isTargetNpc(event.getNpc().getId()))
 		{
-			WorldPoint npcPoint = WorldPoint.fromLocalInstance(client, event.getNpc().getLocalLocation());
+			WorldPoint npcPoint = npcTracker.getLocation(event.getNpc());
 			if (npcs.size() == 0)
 			{
 				if (worldPoint == null)
@@ -191,7 +206,7 @@ public class NpcStep extends DetailedQuestStep
 		int newNpcId = npcChanged.getNpc().getId();
 		npcs.remove(npcChanged.getNpc());
 
-		if (allIds().contains(newNpcId))
+		if (isTargetNpc(newNpcId))
 		{
 			if (npcs.size() == 0 || allowMultipleHighlights)
 			{
@@ -210,37 +225,29 @@ public class NpcStep extends DetailedQuestStep
 			return;
 		}
 
-		if (worldPoint != null)
+		StepRenderModel model = getRenderModel();
+		if (!model.isWorldPointInScene())
 		{
-			Collection<WorldPoint> localWorldPoints = QuestPerspective.toLocalInstance(client, worldPoint);
-			if (localWorldPoints.isEmpty())
-			{
-				return;
-			}
+			return;
 		}
 
-		if (!questHelper.getConfig().showSymbolOverlay())
+		if (!questHelper.getConfigSnapshot().isShowSymbolOverlay())
 		{
 			return;
 		}
 
-		if (!safespots.isEmpty())
+		if (!model.getSafespots().isEmpty())
 		{
 			BufferedImage combatIcon = spriteManager.getSprite(SpriteID.TAB_COMBAT, 0);
-			for (WorldPoint location : safespots)
+			for (LocalPoint localPoint : model.getSafespots())
 			{
-				LocalPoint localPoint = LocalPoint.fromWorld(client, location);
-				if (localPoint != null)
-				{
-					OverlayUtil.renderTileOverlay(client, graphics, localPoint, combatIcon, questHelper.getConfig().targetOverlayColor());
-				}
+				OverlayUtil.renderTileOverlay(client, graphics, localPoint, combatIcon, model.getTargetColor());
 			}
 		}
 
 		for (NPC otherNpc : npcs)
 		{
-			OverlayUtil.renderActorOverlayImage(graphics, otherNpc, icon, questHelper.getConfig().targetOverlayColor(),
-				IMAGE_Z_OFFSET);
+			OverlayUtil.renderActorOverlayImage(graphics, otherNpc, icon, model.getTargetColor(), IMAGE_Z_OFFSET);
 		}
 
 		if (npcs.size() == 0)
@@ -248,14 +255,33 @@ public class NpcStep extends DetailedQuestStep
 			return;
 		}
 
-		OverlayUtil.renderActorOverlayImage(graphics, npcs.get(0), icon, questHelper.getConfig().targetOverlayColor(),
-			IMAGE_Z_OFFSET);
+		OverlayUtil.renderActorOverlayImage(graphics, npcs.get(0), icon, model.getTargetColor(), IMAGE_Z_OFFSET);
+	}
+
+	@Override
+	protected StepRenderModel.StepRenderModelBuilder buildRenderModel()
+	{
+		StepRenderModel.StepRenderModelBuilder model = super.buildRenderModel();
+		if (!safespots.isEmpty())
+		{
+			List<LocalPoint> safespotLocations = new ArrayList<>(safespots.size());
+			for (WorldPoint location : safespots)
+			{
+				LocalPoint localPoint = LocalPoint.fromWorld(client, location);
+				if (localPoint != null)
+				{
+					safespotLocations.add(localPoint);
+				}
+			}
+			model.safespots(safespotLocations);
+		}
+		return model;
 	}
 
 	@Override
 	public void renderArrow(Graphics2D graphics)
 	{
-		if (questHelper.getConfig().showMiniMapArrow()) {
+		if (questHelper.getConfigSnapshot().isShowMiniMapArrow()) {
 		if (npcs.size() == 0)
 		{
 			super.renderArrow(graphics);
@@ -269,7 +295,7 @@ public class NpcStep extends DetailedQuestStep
 				int x = (int) rect.getCenterX();
 				int y = (int) rect.getMinY() - ARROW_SHIFT_Y;
 
-				DirectionArrow.drawWorldArrow(graphics, getQuestHelper().getConfig().targetOverlayColor(), x, y);
+				DirectionArrow.drawWorldArrow(graphics, getRenderModel().getTargetColor(), x, y);
 			}
 		}
 	}
@@ -277,7 +303,7 @@ public class NpcStep extends DetailedQuestStep
 
 	@Override
 	public void renderMinimapArrow(Graphics2D graphics) {
-		if (questHelper.getConfig().showMiniMapArrow()) {
+		if (questHelper.getConfigSnapshot().isShowMiniMapArrow()) {
 			if (npcs.contains(client.getHintArrowNpc())) {
 				return;
 			}
@@ -287,7 +313,7 @@ public class NpcStep extends DetailedQuestStep
 				int y = npcs.get(0).getMinimapLocation().getY();
 				Line2D.Double line = new Line2D.Double(x, y - 18, x, y - 8);
 
-				DirectionArrow.drawMinimapArrow(graphics, line, getQuestHelper().getConfig().targetOverlayColor());
+				DirectionArrow.drawMinimapArrow(graphics, line, getRenderModel().getTargetColor());
 				return;
 			}
 
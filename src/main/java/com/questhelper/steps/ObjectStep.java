@@ -28,7 +28,12 @@ import com.questhelper.QuestHelperPlugin;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.requirements.Requirement;
 import com.questhelper.steps.overlay.DirectionArrow;
+import com.questhelper.steps.overlay.StepRenderModel;
 import com.questhelper.steps.tools.QuestPerspective;
+import com.questhelper.tracking.SceneObjectIndex;
+import com.questhelper.util.IdList;
+import com.questhelper.util.IntIntMap;
+import javax.inject.Inject;
 import net.runelite.api.Point;
 import net.runelite.api.*;
 import net.runelite.api.coords.LocalPoint;
@@ -46,8 +51,18 @@ import java.util.List;
 
 public class ObjectStep extends DetailedQuestStep
 {
-	private final int objectID;
-	private final ArrayList<Integer> alternateObjectIDs = new ArrayList<>();
+	private static final int UNKNOWN = 0;
+	private static final int CAN_BECOME_TARGET = 1;
+	private static final int CANNOT_BECOME_TARGET = 2;
+
+	@Inject
+	private SceneObjectIndex sceneObjectIndex;
+
+	/** The main object id and its alternates */
+	private IdList objectIDs;
+
+	/** Whether each non-target object id has an impostor which is one of {@link #objectIDs} */
+	private final IntIntMap impostorTargets = new IntIntMap(64, UNKNOWN);
 	private TileObject object;
 
 	private final List<TileObject> objects = new ArrayList<>();
@@ -57,13 +72,13 @@ public class ObjectStep extends DetailedQuestStep
 	public ObjectStep(QuestHelper questHelper, int objectID, WorldPoint worldPoint, String text, Requirement... requirements)
 	{
 		super(questHelper, worldPoint, text, requirements);
-		this.objectID = objectID;
+		this.objectIDs = IdList.of(objectID);
 	}
 
 	public ObjectStep(QuestHelper questHelper, int objectID, String text, Requirement... requirements)
 	{
 		super(questHelper, null, text, requirements);
-		this.objectID = objectID;
+		this.objectIDs = IdList.of(objectID);
 	}
 
 	public void setRevalidateObjects(boolean value)
@@ -88,27 +103,24 @@ public class ObjectStep extends DetailedQuestStep
 	private void loadObjects()
 	{
 		objects.clear();
-		Tile[][] tiles = client.getScene().getTiles()[client.getPlane()];
-		for (Tile[] lineOfTiles : tiles)
+		int plane = client.getPlane();
+		for (int i = 0; i < objectIDs.size(); i++)
+		{
+			loadObjects(objectIDs.getId(i), plane);
+		}
+	}
+
+	private void loadObjects(int id, int plane)
+	{
+		for (TileObject tileObject : sceneObjectIndex.getObjectsShowing(id))
 		{
-			for (Tile tile : lineOfTiles)
+			if (tileObject.getPlane() == plane)
 			{
-				if (tile != null)
-				{
-					for (GameObject object : tile.getGameObjects())
-					{
-						handleObjects(object);
-					}
-
-					handleObjects(tile.getDecorativeObject());
-					handleObjects(tile.getGroundObject());
-					handleObjects(tile.getWallObject());
-				}
+				handleObjects(tileObject);
 			}
 		}
 	}
 
-
 	@Subscribe
 	public void onGameTick(final GameTick event)
 	{
@@ -178,7 +190,8 @@ public class ObjectStep extends DetailedQuestStep
 
 	public void addAlternateObjects(Integer... alternateObjectIDs)
 	{
-		this.alternateObjectIDs.addAll(Arrays.asList(alternateObjectIDs));
+		objectIDs = objectIDs.plus(Arrays.asList(alternateObjectIDs));
+		impostorTargets.clear();
 	}
 
 	@Subscribe
@@ -271,20 +284,19 @@ public class ObjectStep extends DetailedQuestStep
 			return;
 		}
 
+		StepRenderModel model = getRenderModel();
 		Point mousePosition = client.getMouseCanvasPosition();
+		int plane = client.getPlane();
 		for (TileObject tileObject : objects)
 		{
-			if (tileObject.getPlane() == client.getPlane())
+			if (tileObject.getPlane() == plane)
 			{
-				Color configColor = getQuestHelper().getConfig().targetOverlayColor();
-				Color fillColor = new Color(configColor.getRed(), configColor.getGreen(), configColor.getBlue(), 20);
-				OverlayUtil.renderHoverableArea(graphics, tileObject.getClickbox(), mousePosition, fillColor,
-					getQuestHelper().getConfig().targetOverlayColor().darker(),
-					getQuestHelper().getConfig().targetOverlayColor());
+				OverlayUtil.renderHoverableArea(graphics, tileObject.getClickbox(), mousePosition, model.getTargetFillColor(),
+					model.getTargetOutlineColor(), model.getTargetColor());
 			}
 		}
 
-		if (iconItemID != -1 && object != null && questHelper.getConfig().showSymbolOverlay())
+		if (iconItemID != -1 && object != null && questHelper.getConfigSnapshot().isShowSymbolOverlay())
 		{
 			Shape clickbox = object.getClickbox();
 			if (clickbox != null && !inCutscene)
@@ -300,17 +312,17 @@ public class ObjectStep extends DetailedQuestStep
 
 	@Override
 	public void renderArrow(Graphics2D graphics) {
-		if (questHelper.getConfig().showMiniMapArrow()) {
+		if (questHelper.getConfigSnapshot().isShowMiniMapArrow()) {
 			if (object == null || hideWorldArrow) {
 				return;
 			}
 			Shape clickbox = object.getClickbox();
-			if (clickbox != null && questHelper.getConfig().showMiniMapArrow()) {
+			if (clickbox != null && questHelper.getConfigSnapshot().isShowMiniMapArrow()) {
 				Rectangle2D boundingBox = clickbox.getBounds2D();
 				int x = (int) boundingBox.getCenterX();
 				int y = (int) boundingBox.getMinY() - 20;
 
-				DirectionArrow.drawWorldArrow(graphics, getQuestHelper().getConfig().targetOverlayColor(), x, y);
+				DirectionArrow.drawWorldArrow(graphics, getRenderModel().getTargetColor(), x, y);
 			}
 		}
 	}
@@ -332,30 +344,35 @@ public class ObjectStep extends DetailedQuestStep
 			return;
 		}
 
+		if (!isTargetObject(object.getId()))
+		{
+			return;
+		}
+
 		Collection<WorldPoint> localWorldPoints = null;
 		if (worldPoint != null)
 		{
 			localWorldPoints = QuestPerspective.toLocalInstance(client, worldPoint);
 		}
+		setObjects(object, localWorldPoints);
+	}
 
-		if (object.getId() == objectID || alternateObjectIDs.contains(object.getId()))
+	private boolean isTargetObject(int id)
+	{
+		if (objectIDs.containsId(id))
 		{
-			setObjects(object, localWorldPoints);
-			return;
+			return true;
 		}
 
-		final ObjectComposition comp = client.getObjectDefinition(object.getId());
-		final int[] impostorIds = comp.getImpostorIds();
-
-		if (impostorIds != null && comp.getImpostor() != null)
+		// Most objects can never become a target, which is worth remembering as they spawn by the thousand
+		int impostorTarget = impostorTargets.get(id);
+		if (impostorTarget == UNKNOWN)
 		{
-			boolean imposterIsMainObject = comp.getImpostor().getId() == objectID;
-			boolean imposterIsAlternateObject = alternateObjectIDs.contains(comp.getImpostor().getId());
-			if (imposterIsMainObject || imposterIsAlternateObject)
-			{
-				setObjects(object, localWorldPoints);
-			}
+			impostorTarget = objectIDs.containsAny(sceneObjectIndex.getImpostorIds(id)) ? CAN_BECOME_TARGET : CANNOT_BECOME_TARGET;
+			impostorTargets.put(id, impostorTarget);
 		}
+
+		return impostorTarget == CAN_BECOME_TARGET && objectIDs.containsId(sceneObjectIndex.getImpostorId(id));
 	}
 
 	private void setObjects(TileObject object, Collection<WorldPoint> localWorldPoints)
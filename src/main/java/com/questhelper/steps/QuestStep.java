@@ -34,11 +34,13 @@ import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.questhelpers.QuestUtil;
 import com.questhelper.requirements.Requirement;
 import com.questhelper.requirements.conditional.ConditionForStep;
+import com.questhelper.requirements.evaluation.RequirementEvaluationContext;
 import com.questhelper.steps.choice.DialogChoiceStep;
 import com.questhelper.steps.choice.DialogChoiceSteps;
 import com.questhelper.steps.choice.WidgetChoiceStep;
 import com.questhelper.steps.choice.WidgetChoiceSteps;
 import com.questhelper.steps.overlay.IconOverlay;
+import com.questhelper.tracking.VarSnapshot;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
@@ -74,6 +76,12 @@ public abstract class QuestStep implements Module
 	@Inject
 	SpriteManager spriteManager;
 
+	@Inject
+	protected RequirementEvaluationContext requirementContext;
+
+	@Inject
+	private VarSnapshot vars;
+
 	@Getter
 	protected List<String> text;
 
@@ -185,7 +193,8 @@ public abstract class QuestStep implements Module
 	{
 		if (!allowInCutscene)
 		{
-			int newCutsceneStatus = client.getVarbitValue(QuestVarbits.CUTSCENE.getId());
+			int cutsceneVarbit = QuestVarbits.CUTSCENE.getId();
+			int newCutsceneStatus = vars == null ? client.getVarbitValue(cutsceneVarbit) : vars.getVarbitValue(cutsceneVarbit);
 			if (currentCutsceneStatus == 0 && newCutsceneStatus == 1)
 			{
 				enteredCutscene();
@@ -371,7 +380,7 @@ public abstract class QuestStep implements Module
 
 	public boolean isLocked()
 	{
-		boolean autoLocked = lockingCondition != null && lockingCondition.check(client);
+		boolean autoLocked = lockingCondition != null && checkRequirement(lockingCondition);
 		unlockable = !autoLocked;
 		if (autoLocked)
 		{
@@ -380,6 +389,19 @@ public abstract class QuestStep implements Module
 		return locked;
 	}
 
+	/**
+	 * Check a requirement through the shared {@link RequirementEvaluationContext}, so the result is shared
+	 * with everything else checking it this tick.
+	 */
+	protected boolean checkRequirement(Requirement requirement)
+	{
+		if (requirementContext == null)
+		{
+			return requirement.check(client);
+		}
+		return requirementContext.check(requirement);
+	}
+
 	public QuestStep getActiveStep()
 	{
 		return this;
@@ -0,0 +1,444 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.steps;
+
+import com.google.common.collect.ImmutableSet;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.DecorativeObjectChanged;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectChanged;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GraphicsObjectCreated;
+import net.runelite.api.events.GroundObjectChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WallObjectChanged;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Passes events on to the steps of the running quest, in place of registering each step with the {@link EventBus}
+ * as it starts.<br>
+ * The plugin registers the router once. The handlers each step class declares are found once per class, so starting
+ * and stopping a step only adds and removes it from the lists for the events it handles, and an event is only passed
+ * to the steps which handle it.<br>
+ * A step handling an event the router doesn't receive is registered with the event bus instead. The router's handlers
+ * run after the plugin's, as the steps used to, so the plugin has already passed each event on to the trackers.<br>
+ * Its priority of -1 is below the default of every subscriber, so steps see each event after all other plugins at
+ * the default priority have handled it, not only after this plugin.
+ */
+@Slf4j
+@Singleton
+public class StepEventRouter
+{
+	private static final float PRIORITY = -1;
+
+	private static final Set<Class<?>> ROUTED_EVENTS = ImmutableSet.of(
+		ChatMessage.class,
+		DecorativeObjectChanged.class,
+		DecorativeObjectDespawned.class,
+		DecorativeObjectSpawned.class,
+		GameObjectChanged.class,
+		GameObjectDespawned.class,
+		GameObjectSpawned.class,
+		GameStateChanged.class,
+		GameTick.class,
+		GraphicsObjectCreated.class,
+		GroundObjectChanged.class,
+		GroundObjectDespawned.class,
+		GroundObjectSpawned.class,
+		InteractingChanged.class,
+		ItemContainerChanged.class,
+		ItemDespawned.class,
+		ItemSpawned.class,
+		MenuOptionClicked.class,
+		NpcChanged.class,
+		NpcDespawned.class,
+		NpcSpawned.class,
+		VarbitChanged.class,
+		WallObjectChanged.class,
+		WallObjectDespawned.class,
+		WallObjectSpawned.class,
+		WidgetLoaded.class
+	);
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/** The {@link Subscribe} methods each class declares or inherits, by event type */
+	private static final ClassValue<Map<Class<?>, MethodHandle[]>> HANDLERS = new ClassValue<Map<Class<?>, MethodHandle[]>>()
+	{
+		@Override
+		protected Map<Class<?>, MethodHandle[]> computeValue(Class<?> type)
+		{
+			return findHandlers(type);
+		}
+	};
+
+	private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+	private final EventBus eventBus;
+
+	/** Replaced rather than modified, so a step starting or stopping while an event is passed on doesn't affect it */
+	private final Map<Class<?>, Subscriber[]> subscribersByEvent = new HashMap<>();
+	private final Set<Object> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<Object> eventBusSubscribers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	@Inject
+	public StepEventRouter(EventBus eventBus)
+	{
+		this.eventBus = eventBus;
+	}
+
+	public void register(Object object)
+	{
+		if (!registered.add(object))
+		{
+			return;
+		}
+
+		Map<Class<?>, MethodHandle[]> handlers = HANDLERS.get(object.getClass());
+		if (!ROUTED_EVENTS.containsAll(handlers.keySet()))
+		{
+			eventBusSubscribers.add(object);
+			eventBus.register(object);
+			return;
+		}
+
+		handlers.forEach((eventType, methods) -> {
+			Subscriber[] subscribers = subscribersByEvent.getOrDefault(eventType, NO_SUBSCRIBERS);
+			Subscriber[] added = Arrays.copyOf(subscribers, subscribers.length + methods.length);
+			for (int i = 0; i < methods.length; i++)
+			{
+				added[subscribers.length + i] = new Subscriber(object, methods[i]);
+			}
+			subscribersByEvent.put(eventType, added);
+		});
+	}
+
+	public void unregister(Object object)
+	{
+		if (!registered.remove(object))
+		{
+			return;
+		}
+
+		if (eventBusSubscribers.remove(object))
+		{
+			eventBus.unregister(object);
+			return;
+		}
+
+		for (Class<?> eventType : HANDLERS.get(object.getClass()).keySet())
+		{
+			Subscriber[] subscribers = subscribersByEvent.get(eventType);
+			Subscriber[] remaining = Arrays.stream(subscribers)
+				.filter(subscriber -> subscriber.target != object)
+				.toArray(Subscriber[]::new);
+			if (remaining.length == 0)
+			{
+				subscribersByEvent.remove(eventType);
+			}
+			else
+			{
+				subscribersByEvent.put(eventType, remaining);
+			}
+		}
+	}
+
+	/**
+	 * Forget every registered step, such as when the plugin stops.
+	 */
+	public void clear()
+	{
+		eventBusSubscribers.forEach(eventBus::unregister);
+		eventBusSubscribers.clear();
+		registered.clear();
+		subscribersByEvent.clear();
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onChatMessage(ChatMessage event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onDecorativeObjectChanged(DecorativeObjectChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameObjectChanged(GameObjectChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameTick(GameTick event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGraphicsObjectCreated(GraphicsObjectCreated event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGroundObjectChanged(GroundObjectChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onInteractingChanged(InteractingChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onItemContainerChanged(ItemContainerChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onItemDespawned(ItemDespawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onItemSpawned(ItemSpawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onMenuOptionClicked(MenuOptionClicked event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onNpcChanged(NpcChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onWallObjectChanged(WallObjectChanged event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		post(event);
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onWidgetLoaded(WidgetLoaded event)
+	{
+		post(event);
+	}
+
+	private void post(Object event)
+	{
+		Subscriber[] subscribers = subscribersByEvent.get(event.getClass());
+		if (subscribers == null)
+		{
+			return;
+		}
+
+		for (Subscriber subscriber : subscribers)
+		{
+			try
+			{
+				subscriber.handler.invokeExact(subscriber.target, event);
+			}
+			catch (Throwable ex)
+			{
+				log.warn("Uncaught exception in event subscriber", ex);
+			}
+		}
+	}
+
+	private static Map<Class<?>, MethodHandle[]> findHandlers(Class<?> type)
+	{
+		Map<Class<?>, List<MethodHandle>> handlers = new HashMap<>();
+		Set<String> overridden = new HashSet<>();
+		for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass())
+		{
+			for (Method method : clazz.getDeclaredMethods())
+			{
+				if (method.isSynthetic() || method.getParameterCount() != 1 || method.getAnnotation(Subscribe.class) == null)
+				{
+					continue;
+				}
+
+				// A handler overridden by a subclass is called once, through the override
+				Class<?> eventType = method.getParameterTypes()[0];
+				if (!Modifier.isPrivate(method.getModifiers()) && !overridden.add(method.getName() + ":" + eventType.getName()))
+				{
+					continue;
+				}
+
+				try
+				{
+					method.setAccessible(true);
+					MethodHandle handler = LOOKUP.unreflect(method).asType(HANDLER_TYPE);
+					handlers.computeIfAbsent(eventType, k -> new ArrayList<>()).add(handler);
+				}
+				catch (IllegalAccessException ex)
+				{
+					throw new IllegalStateException("Unable to access event handler " + method, ex);
+				}
+			}
+		}
+
+		Map<Class<?>, MethodHandle[]> handlerArrays = new HashMap<>();
+		handlers.forEach((eventType, methods) -> handlerArrays.put(eventType, methods.toArray(new MethodHandle[0])));
+		return handlerArrays;
+	}
+
+	private static class Subscriber
+	{
+		private final Object target;
+		private final MethodHandle handler;
+
+		private Subscriber(Object target, MethodHandle handler)
+		{
+			this.target = target;
+			this.handler = handler;
+		}
+	}
+}
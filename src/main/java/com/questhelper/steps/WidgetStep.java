@@ -24,7 +24,6 @@
  */
 package com.questhelper.steps;
 
-import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -74,20 +73,16 @@ public class WidgetStep extends DetailedQuestStep
 				else
 				{
 					WidgetItem widgetItem = widget.getWidgetItem(widgetDetail.childChildID);
-					graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-						questHelper.getConfig().targetOverlayColor().getGreen(),
-						questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+					graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 					graphics.fill(widgetItem.getCanvasBounds());
-					graphics.setColor(questHelper.getConfig().targetOverlayColor());
+					graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 					graphics.draw(widgetItem.getCanvasBounds());
 					continue;
 				}
 			}
-			graphics.setColor(new Color(questHelper.getConfig().targetOverlayColor().getRed(),
-				questHelper.getConfig().targetOverlayColor().getGreen(),
-				questHelper.getConfig().targetOverlayColor().getBlue(), 65));
+			graphics.setColor(questHelper.getConfigSnapshot().getWidgetFillColor());
 			graphics.fill(widget.getBounds());
-			graphics.setColor(questHelper.getConfig().targetOverlayColor());
+			graphics.setColor(questHelper.getConfigSnapshot().getTargetOverlayColor());
 			graphics.draw(widget.getBounds());
 		}
 	}
@@ -0,0 +1,72 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.steps.overlay;
+
+import java.awt.Color;
+import java.util.Collections;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+import net.runelite.api.Tile;
+import net.runelite.api.coords.LocalPoint;
+
+/**
+ * Everything a step draws which only changes from one game tick to the next, worked out once per tick so the
+ * overlays only have to draw it each frame.<br>
+ * Things which move between ticks, such as NPCs and the camera, are still read while rendering.
+ */
+@Value
+@Builder
+public class StepRenderModel
+{
+	Color targetColor;
+
+	/** The target colour at the alpha used to fill clickboxes */
+	Color targetFillColor;
+
+	/** The target colour darkened, for clickbox outlines */
+	Color targetOutlineColor;
+
+	/** False if the step has a world point which isn't in the scene */
+	@Builder.Default
+	boolean worldPointInScene = true;
+
+	/** The step's world point, translated into any instance, or null if it has none or it isn't in the scene */
+	LocalPoint worldPointLocation;
+
+	/** The step's line points, translated into any instance. Points which aren't in the scene are null. */
+	@Builder.Default
+	List<LocalPoint> linePoints = Collections.emptyList();
+
+	/** The tiles holding an item which a requirement still needs */
+	@Builder.Default
+	List<Tile> highlightedTiles = Collections.emptyList();
+
+	@Builder.Default
+	List<LocalPoint> safespots = Collections.emptyList();
+}
@@ -29,6 +29,7 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.Line2D;
+import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nonnull;
 import net.runelite.api.Client;
@@ -65,10 +66,25 @@ public class WorldLines
 		{
 			return;
 		}
-		for (int i = 0; i < linePoints.size() - 1; i++)
+		createLocalMinimapLines(graphics, client, toInstanceLocalPoints(client, linePoints), color);
+	}
+
+	/**
+	 * Draw lines on the minimap between points which have already been translated into any instance.
+	 *
+	 * @param localLinePoints the points to draw between. Points which aren't in the scene should be null.
+	 */
+	public static void createLocalMinimapLines(Graphics2D graphics, Client client, List<LocalPoint> localLinePoints,
+											   Color color)
+	{
+		if (localLinePoints == null || localLinePoints.size() < 2)
 		{
-			LocalPoint startPoint = QuestPerspective.getInstanceLocalPoint(client, linePoints.get(i));
-			LocalPoint destinationPoint = QuestPerspective.getInstanceLocalPoint(client, linePoints.get(i+1));
+			return;
+		}
+		for (int i = 0; i < localLinePoints.size() - 1; i++)
+		{
+			LocalPoint startPoint = localLinePoints.get(i);
+			LocalPoint destinationPoint = localLinePoints.get(i + 1);
 			if (startPoint == null || destinationPoint == null)
 			{
 				continue;
@@ -155,10 +171,21 @@ public class WorldLines
 	public static void drawLinesOnWorld(Graphics2D graphics, Client client, List<WorldPoint> linePoints,
 									   Color color)
 	{
-		for (int i = 0; i < linePoints.size() - 1; i++)
+		drawLocalLinesOnWorld(graphics, client, toInstanceLocalPoints(client, linePoints), color);
+	}
+
+	/**
+	 * Draw lines on the world between points which have already been translated into any instance.
+	 *
+	 * @param localLinePoints the points to draw between. Points which aren't in the scene should be null.
+	 */
+	public static void drawLocalLinesOnWorld(Graphics2D graphics, Client client, List<LocalPoint> localLinePoints,
+											 Color color)
+	{
+		for (int i = 0; i < localLinePoints.size() - 1; i++)
 		{
-			LocalPoint startLp = QuestPerspective.getInstanceLocalPoint(client, linePoints.get(i));
-			LocalPoint endLp = QuestPerspective.getInstanceLocalPoint(client, linePoints.get(i+1));
+			LocalPoint startLp = localLinePoints.get(i);
+			LocalPoint endLp = localLinePoints.get(i + 1);
 			if (startLp == null || endLp == null)
 			{
 				continue;
@@ -171,4 +198,17 @@ public class WorldLines
 			}
 		}
 	}
+
+	/**
+	 * @return each point translated into any instance, or null where the point isn't in the scene
+	 */
+	public static List<LocalPoint> toInstanceLocalPoints(Client client, List<WorldPoint> linePoints)
+	{
+		List<LocalPoint> localPoints = new ArrayList<>(linePoints.size());
+		for (WorldPoint linePoint : linePoints)
+		{
+			localPoints.add(QuestPerspective.getInstanceLocalPoint(client, linePoint));
+		}
+		return localPoints;
+	}
 }
@@ -28,7 +28,9 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import net.runelite.api.Client;
 import static net.runelite.api.Constants.CHUNK_SIZE;
 import net.runelite.api.Perspective;
@@ -42,6 +44,17 @@ import net.runelite.api.widgets.WidgetInfo;
 
 public class QuestPerspective
 {
+	private static final int[] NO_CHUNKS = new int[0];
+
+	/**
+	 * The instance chunks built from each template chunk, keyed by {@link #chunkKey(int, int)} of the template
+	 * chunk. Each instance chunk is packed as rotation | x << 2 | y << 10 | plane << 18, in scene chunks.
+	 */
+	private static final Map<Integer, int[]> instanceChunksByTemplate = new HashMap<>();
+	private static int[][][] indexedTemplateChunks;
+	private static int indexedBaseX;
+	private static int indexedBaseY;
+
 	public static Collection<WorldPoint> toLocalInstance(Client client, WorldPoint worldPoint)
 	{
 		if (!client.isInInstancedRegion())
@@ -50,9 +63,86 @@ public class QuestPerspective
 		}
 
 		// find instance chunks using the template point. there might be more than one.
-		List<WorldPoint> worldPoints = new ArrayList<>();
+		int[] instanceChunks = getInstanceChunks(client, worldPoint.getX() / CHUNK_SIZE, worldPoint.getY() / CHUNK_SIZE);
+		if (instanceChunks.length == 0)
+		{
+			return Collections.emptyList();
+		}
+
+		int x = worldPoint.getX() & (CHUNK_SIZE - 1);
+		int y = worldPoint.getY() & (CHUNK_SIZE - 1);
+		List<WorldPoint> worldPoints = new ArrayList<>(instanceChunks.length);
+		for (int instanceChunk : instanceChunks)
+		{
+			int rotation = instanceChunk & 0x3;
+			int rotatedX;
+			int rotatedY;
+			switch (rotation)
+			{
+				case 1:
+					rotatedX = y;
+					rotatedY = CHUNK_SIZE - 1 - x;
+					break;
+				case 2:
+					rotatedX = CHUNK_SIZE - 1 - x;
+					rotatedY = CHUNK_SIZE - 1 - y;
+					break;
+				case 3:
+					rotatedX = CHUNK_SIZE - 1 - y;
+					rotatedY = x;
+					break;
+				default:
+					rotatedX = x;
+					rotatedY = y;
+			}
+
+			WorldPoint p = new WorldPoint(
+				client.getBaseX() + (instanceChunk >> 2 & 0xFF) * CHUNK_SIZE + rotatedX,
+				client.getBaseY() + (instanceChunk >> 10 & 0xFF) * CHUNK_SIZE + rotatedY,
+				instanceChunk >> 18 & 0x3);
+			if (p.isInScene(client))
+			{
+				worldPoints.add(p);
+			}
+		}
+		return worldPoints;
+	}
+
+	/**
+	 * Forget which instance chunks were built from which template chunks. This must be called whenever the
+	 * scene is loaded, as the same template chunk array is re-used for the next instance.
+	 */
+	public static void invalidateInstanceChunks()
+	{
+		instanceChunksByTemplate.clear();
+		indexedTemplateChunks = null;
+	}
 
+	private static int[] getInstanceChunks(Client client, int templateChunkX, int templateChunkY)
+	{
 		int[][][] instanceTemplateChunks = client.getInstanceTemplateChunks();
+		if (instanceTemplateChunks != indexedTemplateChunks || client.getBaseX() != indexedBaseX
+			|| client.getBaseY() != indexedBaseY)
+		{
+			indexInstanceChunks(instanceTemplateChunks);
+			indexedBaseX = client.getBaseX();
+			indexedBaseY = client.getBaseY();
+		}
+
+		int[] instanceChunks = instanceChunksByTemplate.get(chunkKey(templateChunkX, templateChunkY));
+		return instanceChunks == null ? NO_CHUNKS : instanceChunks;
+	}
+
+	private static void indexInstanceChunks(int[][][] instanceTemplateChunks)
+	{
+		instanceChunksByTemplate.clear();
+		indexedTemplateChunks = instanceTemplateChunks;
+		if (instanceTemplateChunks == null)
+		{
+			return;
+		}
+
+		Map<Integer, List<Integer>> chunksByTemplate = new HashMap<>();
 		for (int z = 0; z < instanceTemplateChunks.length; ++z)
 		{
 			for (int x = 0; x < instanceTemplateChunks[z].length; ++x)
@@ -61,43 +151,23 @@ public class QuestPerspective
 				{
 					int chunkData = instanceTemplateChunks[z][x][y];
 					int rotation = chunkData >> 1 & 0x3;
-					int templateChunkY = (chunkData >> 3 & 0x7FF) * CHUNK_SIZE;
-					int templateChunkX = (chunkData >> 14 & 0x3FF) * CHUNK_SIZE;
-					if (worldPoint.getX() >= templateChunkX && worldPoint.getX() < templateChunkX + CHUNK_SIZE
-						&& worldPoint.getY() >= templateChunkY && worldPoint.getY() < templateChunkY + CHUNK_SIZE)
-					{
-						WorldPoint p =
-							new WorldPoint(client.getBaseX() + x * CHUNK_SIZE + (worldPoint.getX() & (CHUNK_SIZE - 1)),
-								client.getBaseY() + y * CHUNK_SIZE + (worldPoint.getY() & (CHUNK_SIZE - 1)),
-								z);
-						p = rotate(p, rotation);
-						if (p.isInScene(client))
-						{
-							worldPoints.add(p);
-						}
-					}
+					int templateChunkY = chunkData >> 3 & 0x7FF;
+					int templateChunkX = chunkData >> 14 & 0x3FF;
+					int instanceChunk = rotation | x << 2 | y << 10 | z << 18;
+
+					chunksByTemplate.computeIfAbsent(chunkKey(templateChunkX, templateChunkY), k -> new ArrayList<>())
+						.add(instanceChunk);
 				}
 			}
 		}
-		return worldPoints;
+
+		chunksByTemplate.forEach((key, chunks) ->
+			instanceChunksByTemplate.put(key, chunks.stream().mapToInt(Integer::intValue).toArray()));
 	}
 
-	private static WorldPoint rotate(WorldPoint point, int rotation)
+	private static int chunkKey(int chunkX, int chunkY)
 	{
-		int chunkX = point.getX() & ~(CHUNK_SIZE - 1);
-		int chunkY = point.getY() & ~(CHUNK_SIZE - 1);
-		int x = point.getX() & (CHUNK_SIZE - 1);
-		int y = point.getY() & (CHUNK_SIZE - 1);
-		switch (rotation)
-		{
-			case 1:
-				return new WorldPoint(chunkX + y, chunkY + (CHUNK_SIZE - 1 - x), point.getPlane());
-			case 2:
-				return new WorldPoint(chunkX + (CHUNK_SIZE - 1 - x), chunkY + (CHUNK_SIZE - 1 - y), point.getPlane());
-			case 3:
-				return new WorldPoint(chunkX + (CHUNK_SIZE - 1 - y), chunkY + x, point.getPlane());
-		}
-		return point;
+		return chunkX << 11 | chunkY;
 	}
 
 	public static LocalPoint getInstanceLocalPoint(Client client, WorldPoint wp)
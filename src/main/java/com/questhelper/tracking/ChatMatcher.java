@@ -0,0 +1,135 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.requirements.ChatMessageRequirement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Passes game messages on to the {@link ChatMessageRequirement}s waiting for them.<br>
+ * Every message of every active requirement is kept in one map, so a chat line costs a single lookup however
+ * many requirements are active. Steps register their requirements when they start and unregister them when they
+ * stop. A requirement used by more than one active step is only removed once all of them have stopped.
+ */
+@Singleton
+public class ChatMatcher
+{
+	private final Client client;
+
+	private final Map<String, List<ChatMessageRequirement>> requirementsByMessage = new HashMap<>();
+	private final Map<ChatMessageRequirement, Integer> registrations = new IdentityHashMap<>();
+
+	@Inject
+	public ChatMatcher(Client client)
+	{
+		this.client = client;
+	}
+
+	public void register(ChatMessageRequirement requirement)
+	{
+		Integer count = registrations.get(requirement);
+		registrations.put(requirement, count == null ? 1 : count + 1);
+		if (count != null)
+		{
+			return;
+		}
+
+		for (String message : requirement.getMessages())
+		{
+			List<ChatMessageRequirement> requirements = requirementsByMessage.computeIfAbsent(message, k -> new ArrayList<>());
+			if (!requirements.contains(requirement))
+			{
+				requirements.add(requirement);
+			}
+		}
+	}
+
+	public void unregister(ChatMessageRequirement requirement)
+	{
+		Integer count = registrations.get(requirement);
+		if (count == null)
+		{
+			return;
+		}
+		if (count > 1)
+		{
+			registrations.put(requirement, count - 1);
+			return;
+		}
+
+		registrations.remove(requirement);
+		for (String message : requirement.getMessages())
+		{
+			List<ChatMessageRequirement> requirements = requirementsByMessage.get(message);
+			if (requirements != null)
+			{
+				requirements.remove(requirement);
+				if (requirements.isEmpty())
+				{
+					requirementsByMessage.remove(message);
+				}
+			}
+		}
+	}
+
+	public void clear()
+	{
+		requirementsByMessage.clear();
+		registrations.clear();
+	}
+
+	@Subscribe
+	public void onChatMessage(ChatMessage chatMessage)
+	{
+		if (chatMessage.getType() != ChatMessageType.GAMEMESSAGE && chatMessage.getType() != ChatMessageType.ENGINE)
+		{
+			return;
+		}
+
+		List<ChatMessageRequirement> requirements = requirementsByMessage.get(chatMessage.getMessage());
+		if (requirements == null)
+		{
+			return;
+		}
+
+		for (int i = 0; i < requirements.size(); i++)
+		{
+			requirements.get(i).messageReceived(client);
+		}
+	}
+}
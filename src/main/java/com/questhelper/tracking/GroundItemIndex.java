@@ -0,0 +1,210 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileItem;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Every item on the ground in the scene, indexed by item id, so steps and requirements can find ground items
+ * without walking every tile of the scene.<br>
+ * The index is built in one pass over the scene the first time it is needed after a scene load, and kept up to
+ * date from {@link ItemSpawned} and {@link ItemDespawned} after that.
+ */
+@Singleton
+public class GroundItemIndex
+{
+	private final Client client;
+
+	/** The tiles each item is on, with how many of the item's stacks are on each tile */
+	private final Map<Integer, Map<Tile, Integer>> tilesByItemId = new HashMap<>();
+
+	private boolean stale = true;
+
+	@Inject
+	public GroundItemIndex(Client client)
+	{
+		this.client = client;
+	}
+
+	/**
+	 * @param itemID the item to look for
+	 * @return the tiles, on any plane, the item is on, with how many stacks of it are on each. The map must not be modified.
+	 */
+	public Map<Tile, Integer> getTiles(int itemID)
+	{
+		rebuildIfStale();
+		Map<Tile, Integer> tiles = tilesByItemId.get(itemID);
+		return tiles == null ? Collections.emptyMap() : tiles;
+	}
+
+	/**
+	 * @param itemID the item to look for
+	 * @param plane the plane to look on
+	 * @return true if the item is on the ground on the plane
+	 */
+	public boolean hasItem(int itemID, int plane)
+	{
+		for (Tile tile : getTiles(itemID).keySet())
+		{
+			if (tile.getPlane() == plane)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Drop the index, so it is rebuilt from the scene the next time it is needed. Spawn events are missed
+	 * while the index isn't registered on the event bus.
+	 */
+	public void clear()
+	{
+		tilesByItemId.clear();
+		stale = true;
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOADING || event.getGameState() == GameState.HOPPING
+			|| event.getGameState() == GameState.LOGIN_SCREEN)
+		{
+			clear();
+		}
+	}
+
+	@Subscribe
+	public void onItemSpawned(ItemSpawned event)
+	{
+		// Items spawned before the index is rebuilt are picked up by the rebuild
+		if (!stale)
+		{
+			add(event.getTile(), event.getItem());
+		}
+	}
+
+	@Subscribe
+	public void onItemDespawned(ItemDespawned event)
+	{
+		if (stale)
+		{
+			return;
+		}
+
+		Map<Tile, Integer> tiles = tilesByItemId.get(event.getItem().getId());
+		if (tiles == null)
+		{
+			return;
+		}
+
+		Integer count = tiles.get(event.getTile());
+		if (count == null)
+		{
+			return;
+		}
+		if (count > 1)
+		{
+			tiles.put(event.getTile(), count - 1);
+			return;
+		}
+
+		tiles.remove(event.getTile());
+		if (tiles.isEmpty())
+		{
+			tilesByItemId.remove(event.getItem().getId());
+		}
+	}
+
+	private void rebuildIfStale()
+	{
+		if (!stale)
+		{
+			return;
+		}
+
+		tilesByItemId.clear();
+		stale = false;
+
+		Scene scene = client.getScene();
+		Tile[][][] tiles = scene == null ? null : scene.getTiles();
+		if (tiles == null)
+		{
+			return;
+		}
+
+		for (Tile[][] plane : tiles)
+		{
+			for (Tile[] lineOfTiles : plane)
+			{
+				for (Tile tile : lineOfTiles)
+				{
+					if (tile == null)
+					{
+						continue;
+					}
+
+					List<TileItem> items = tile.getGroundItems();
+					if (items == null)
+					{
+						continue;
+					}
+
+					for (TileItem item : items)
+					{
+						add(tile, item);
+					}
+				}
+			}
+		}
+	}
+
+	private void add(Tile tile, TileItem item)
+	{
+		if (tile == null || item == null)
+		{
+			return;
+		}
+
+		tilesByItemId.computeIfAbsent(item.getId(), k -> new HashMap<>()).merge(tile, 1, Integer::sum);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.util.IntIntMap;
+import java.util.Arrays;
+import java.util.Collection;
+import net.runelite.api.Item;
+
+/**
+ * The item counts a container last held, so the ids whose quantity changed can be worked out from its next contents
+ * rather than treating every change as affecting every item.
+ */
+public class ItemContainerDiff
+{
+	private IntIntMap counts = new IntIntMap();
+	private int[] ids = new int[0];
+
+	/**
+	 * Remember the container's new contents.
+	 *
+	 * @param items the new contents of the container
+	 * @param changedItemIds where to add each id whose quantity differs from the previous contents
+	 */
+	public void update(Item[] items, Collection<Integer> changedItemIds)
+	{
+		IntIntMap newCounts = new IntIntMap(items.length);
+		int[] newIds = new int[items.length];
+		int size = 0;
+		for (Item item : items)
+		{
+			if (item != null)
+			{
+				newCounts.add(item.getId(), item.getQuantity());
+				newIds[size++] = item.getId();
+			}
+		}
+		newIds = Arrays.copyOf(newIds, size);
+
+		for (int id : newIds)
+		{
+			if (newCounts.get(id) != counts.get(id))
+			{
+				changedItemIds.add(id);
+			}
+		}
+		for (int id : ids)
+		{
+			if (!newCounts.containsKey(id))
+			{
+				changedItemIds.add(id);
+			}
+		}
+
+		counts = newCounts;
+		ids = newIds;
+	}
+
+	public void clear()
+	{
+		counts = new IntIntMap();
+		ids = new int[0];
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.util.IntIntMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemContainerChanged;
+
+/**
+ * The total quantity of each item id held in each {@link InventoryID}, so checking for an item is a single
+ * lookup rather than a walk over the container for every id an item requirement accepts.<br>
+ * A container's counts are rebuilt the first time they are read after it changes. Like the {@link VarSnapshot},
+ * events are passed on by the plugin before it reacts to them itself.
+ */
+@Singleton
+public class ItemCountIndex
+{
+	private static final InventoryID[] CONTAINERS = InventoryID.values();
+
+	private final Client client;
+
+	private final IntIntMap[] counts = new IntIntMap[CONTAINERS.length];
+	private final boolean[] stale = new boolean[CONTAINERS.length];
+
+	/** Counts for the last item array passed to {@link #getCount(Item[], int)}, such as the remembered bank */
+	private Item[] lastItems;
+	private final IntIntMap lastItemsCounts = new IntIntMap();
+
+	@Getter
+	private long rebuilds;
+
+	@Inject
+	public ItemCountIndex(Client client)
+	{
+		this.client = client;
+		markAllStale();
+	}
+
+	public void onItemContainerChanged(ItemContainerChanged event)
+	{
+		for (int i = 0; i < CONTAINERS.length; i++)
+		{
+			if (CONTAINERS[i].getId() == event.getContainerId())
+			{
+				stale[i] = true;
+			}
+		}
+	}
+
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOGGED_IN || event.getGameState() == GameState.HOPPING
+			|| event.getGameState() == GameState.LOGIN_SCREEN)
+		{
+			markAllStale();
+		}
+	}
+
+	/**
+	 * @param inventoryID the container to look in
+	 * @param itemID the item to count
+	 * @return the total quantity of the item in the container, or 0 if the container isn't loaded
+	 */
+	public int getCount(InventoryID inventoryID, int itemID)
+	{
+		int index = inventoryID.ordinal();
+		if (stale[index])
+		{
+			rebuild(index);
+		}
+		return counts[index].get(itemID);
+	}
+
+	/**
+	 * Count an item in an array of items which isn't a container, such as the bank remembered while it was closed.
+	 * The counts for the most recent array are kept, so repeated lookups in the same array are cheap.
+	 *
+	 * @param items the items to look in
+	 * @param itemID the item to count
+	 * @return the total quantity of the item in the array
+	 */
+	public int getCount(Item[] items, int itemID)
+	{
+		if (items != lastItems)
+		{
+			lastItems = items;
+			lastItemsCounts.clear();
+			addAll(lastItemsCounts, items);
+		}
+		return lastItemsCounts.get(itemID);
+	}
+
+	/**
+	 * Count an item by walking an array of items, for callers without an index.
+	 */
+	public static int countIn(Item[] items, int itemID)
+	{
+		int total = 0;
+		for (Item item : items)
+		{
+			// Runelite loves to sneak in null objects
+			if (item != null && item.getId() == itemID)
+			{
+				total += item.getQuantity();
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Count an item by walking a container, for callers without an index.
+	 */
+	public static int countIn(Client client, InventoryID inventoryID, int itemID)
+	{
+		ItemContainer container = client.getItemContainer(inventoryID);
+		return container == null ? 0 : countIn(container.getItems(), itemID);
+	}
+
+	private void markAllStale()
+	{
+		for (int i = 0; i < CONTAINERS.length; i++)
+		{
+			stale[i] = true;
+		}
+		lastItems = null;
+	}
+
+	private void rebuild(int index)
+	{
+		rebuilds++;
+		if (counts[index] == null)
+		{
+			counts[index] = new IntIntMap();
+		}
+		IntIntMap containerCounts = counts[index];
+		containerCounts.clear();
+
+		ItemContainer container = client.getItemContainer(CONTAINERS[index]);
+		if (container != null)
+		{
+			addAll(containerCounts, container.getItems());
+		}
+		stale[index] = false;
+	}
+
+	private static void addAll(IntIntMap counts, Item[] items)
+	{
+		if (items == null)
+		{
+			return;
+		}
+
+		for (Item item : items)
+		{
+			if (item != null)
+			{
+				counts.add(item.getId(), item.getQuantity());
+			}
+		}
+	}
+}
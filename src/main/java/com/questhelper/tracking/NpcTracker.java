@@ -0,0 +1,236 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.util.IdList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Every NPC in the scene, indexed by id, so steps and requirements can find the NPCs they care about without
+ * walking {@link Client#getNpcs()} or keeping their own copies.<br>
+ * Each spawn, despawn or change is a single map update. The instance-translated location of an NPC is worked
+ * out at most once per tick.<br>
+ * The index is rebuilt from the client after a scene load, as NPCs are not always despawned one at a time then.
+ */
+@Singleton
+public class NpcTracker
+{
+	private final Client client;
+
+	private final Map<Integer, List<NPC>> npcsById = new HashMap<>();
+	/** The id each NPC is indexed under, which may differ from its current id once it has changed */
+	private final Map<NPC, Integer> indexedIds = new IdentityHashMap<>();
+	private boolean stale = true;
+
+	private final Map<NPC, WorldPoint> locations = new IdentityHashMap<>();
+	private int locationsTick = -1;
+
+	@Inject
+	public NpcTracker(Client client)
+	{
+		this.client = client;
+	}
+
+	@Subscribe
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		if (!stale)
+		{
+			add(event.getNpc());
+		}
+	}
+
+	@Subscribe
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		if (!stale)
+		{
+			remove(event.getNpc());
+		}
+	}
+
+	@Subscribe
+	public void onNpcChanged(NpcChanged event)
+	{
+		if (!stale)
+		{
+			remove(event.getNpc());
+			add(event.getNpc());
+		}
+	}
+
+	/**
+	 * Drop the index, so it is rebuilt from the scene the next time it is needed. Spawn events are missed
+	 * while the tracker isn't registered on the event bus.
+	 */
+	public void clear()
+	{
+		npcsById.clear();
+		indexedIds.clear();
+		locations.clear();
+		stale = true;
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		GameState state = event.getGameState();
+		if (state == GameState.LOADING || state == GameState.HOPPING || state == GameState.LOGIN_SCREEN)
+		{
+			clear();
+		}
+	}
+
+	/**
+	 * @param npcID the id to look for
+	 * @return the NPCs in the scene with the id. The list must not be modified.
+	 */
+	public List<NPC> getNpcs(int npcID)
+	{
+		rebuildIfStale();
+		List<NPC> npcs = npcsById.get(npcID);
+		return npcs == null ? Collections.emptyList() : npcs;
+	}
+
+	/**
+	 * @param npcID the id to look for
+	 * @return true if there is at least one NPC in the scene with the id
+	 */
+	public boolean hasNpc(int npcID)
+	{
+		return !getNpcs(npcID).isEmpty();
+	}
+
+	/**
+	 * @param npcIDs the ids to look for
+	 * @return true if an NPC with one of the ids is interacting with the local player
+	 */
+	public boolean isInteractingWithPlayer(IdList npcIDs)
+	{
+		Actor player = client.getLocalPlayer();
+		if (player == null)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < npcIDs.size(); i++)
+		{
+			for (NPC npc : getNpcs(npcIDs.getId(i)))
+			{
+				if (npc.getInteracting() == player)
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param npc the NPC to locate
+	 * @return the NPC's location this tick, translated out of any instance
+	 */
+	public WorldPoint getLocation(NPC npc)
+	{
+		int tick = client.getTickCount();
+		if (tick != locationsTick)
+		{
+			locations.clear();
+			locationsTick = tick;
+		}
+
+		WorldPoint location = locations.get(npc);
+		if (location == null)
+		{
+			location = WorldPoint.fromLocalInstance(client, npc.getLocalLocation());
+			locations.put(npc, location);
+		}
+		return location;
+	}
+
+	private void rebuildIfStale()
+	{
+		if (!stale)
+		{
+			return;
+		}
+
+		npcsById.clear();
+		indexedIds.clear();
+		locations.clear();
+		for (NPC npc : client.getNpcs())
+		{
+			add(npc);
+		}
+		stale = false;
+	}
+
+	private void add(NPC npc)
+	{
+		int id = npc.getId();
+		indexedIds.put(npc, id);
+		npcsById.computeIfAbsent(id, k -> new ArrayList<>()).add(npc);
+	}
+
+	private void remove(NPC npc)
+	{
+		Integer id = indexedIds.remove(npc);
+		if (id == null)
+		{
+			return;
+		}
+
+		List<NPC> npcs = npcsById.get(id);
+		if (npcs != null)
+		{
+			npcs.remove(npc);
+			if (npcs.isEmpty())
+			{
+				npcsById.remove(id);
+			}
+		}
+		locations.remove(npc);
+	}
+}
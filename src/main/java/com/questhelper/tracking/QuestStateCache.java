@@ -0,0 +1,156 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.QuestHelperQuest;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.QuestState;
+import net.runelite.api.events.GameStateChanged;
+
+/**
+ * Remembers the {@link QuestState} of every quest, so the quest list script only needs to be run again for a quest
+ * once the varbit or varp holding its progress has changed.<br>
+ * Quests without a progress var are worked out again whenever any var changes.
+ */
+@Singleton
+public class QuestStateCache
+{
+	private static final QuestHelperQuest[] QUESTS = QuestHelperQuest.values();
+
+	/** How long, in seconds, script runs are counted for when reporting {@link #getScriptRunsLastMinute()} */
+	private static final int WINDOW_SECONDS = 60;
+
+	private final Client client;
+	private final VarSnapshot vars;
+
+	private final QuestState[] states = new QuestState[QUESTS.length];
+	private final int[] statesVar = new int[QUESTS.length];
+	private final long[] statesVarsChanged = new long[QUESTS.length];
+
+	private final int[] scriptRunsPerSecond = new int[WINDOW_SECONDS];
+	private final long[] scriptRunsSecond = new long[WINDOW_SECONDS];
+
+	@Getter
+	private long scriptRuns;
+
+	@Inject
+	public QuestStateCache(Client client, VarSnapshot vars)
+	{
+		this.client = client;
+		this.vars = vars;
+	}
+
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING
+			|| event.getGameState() == GameState.LOGGED_IN)
+		{
+			invalidateAll();
+		}
+	}
+
+	/**
+	 * @param quest the quest to get the state of
+	 * @return the quest's state, worked out again only if its progress var has changed since it was last asked for
+	 */
+	public QuestState getState(QuestHelperQuest quest)
+	{
+		int index = quest.ordinal();
+		QuestState state = states[index];
+		if (quest.hasVar())
+		{
+			// Read straight from the client, as tracking every quest's progress var in the snapshot would have each
+			// of them re-read whenever its varp changes, whether or not the quest list is ever looked at again
+			int var = quest.getVar(client);
+			if (state == null || statesVar[index] != var)
+			{
+				state = runScript(quest);
+				states[index] = state;
+				statesVar[index] = var;
+			}
+		}
+		else
+		{
+			long varsChanged = vars.getValuesChanged();
+			if (state == null || statesVarsChanged[index] != varsChanged)
+			{
+				state = runScript(quest);
+				states[index] = state;
+				statesVarsChanged[index] = varsChanged;
+			}
+		}
+		return state;
+	}
+
+	public void invalidateAll()
+	{
+		Arrays.fill(states, null);
+	}
+
+	/**
+	 * @return how many times the quest list script has been run in the last minute
+	 */
+	public int getScriptRunsLastMinute()
+	{
+		long now = currentSecond();
+		int total = 0;
+		for (int i = 0; i < WINDOW_SECONDS; i++)
+		{
+			if (now - scriptRunsSecond[i] < WINDOW_SECONDS)
+			{
+				total += scriptRunsPerSecond[i];
+			}
+		}
+		return total;
+	}
+
+	private QuestState runScript(QuestHelperQuest quest)
+	{
+		scriptRuns++;
+		long second = currentSecond();
+		int bucket = (int) (second % WINDOW_SECONDS);
+		if (scriptRunsSecond[bucket] != second)
+		{
+			scriptRunsSecond[bucket] = second;
+			scriptRunsPerSecond[bucket] = 0;
+		}
+		scriptRunsPerSecond[bucket]++;
+
+		return quest.getState(client);
+	}
+
+	private static long currentSecond()
+	{
+		return System.currentTimeMillis() / 1000;
+	}
+}
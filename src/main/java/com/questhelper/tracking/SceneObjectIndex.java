@@ -0,0 +1,379 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.util.IntIntMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.events.DecorativeObjectChanged;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectChanged;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectChanged;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Every game, wall, ground and decorative object in the scene, indexed by id, so steps and requirements can
+ * find objects without walking every tile of the scene.<br>
+ * The index is built in one pass over the scene the first time it is needed after a scene load, and kept up to
+ * date from spawn, despawn and change events after that.<br>
+ * Objects which can change into other objects (impostors) are also indexed under every id they can become, so
+ * they can be found by the id they are currently showing.
+ */
+@Singleton
+public class SceneObjectIndex
+{
+	private static final int[] NO_IMPOSTORS = new int[0];
+	private static final int UNKNOWN_IMPOSTOR = -2;
+
+	private final Client client;
+	private final VarSnapshot vars;
+
+	private final Map<Integer, Set<TileObject>> objectsById = new HashMap<>();
+	private final Map<Integer, Set<TileObject>> objectsByImpostorId = new HashMap<>();
+
+	/** The impostor ids of each object definition, which never change, so definitions are only loaded once */
+	private final Map<Integer, int[]> impostorIdsByObjectId = new HashMap<>();
+
+	/**
+	 * The id each object with impostors is currently showing. Impostors are picked by varbits and varps,
+	 * so this is dropped whenever any var changes.
+	 */
+	private final IntIntMap currentImpostorIds = new IntIntMap(64, UNKNOWN_IMPOSTOR);
+	private long currentImpostorIdsVars = -1;
+
+	private boolean stale = true;
+
+	@Inject
+	public SceneObjectIndex(Client client, VarSnapshot vars)
+	{
+		this.client = client;
+		this.vars = vars;
+	}
+
+	/**
+	 * @param objectID the id to look for
+	 * @return every object in the scene, on any plane, with the id. The collection must not be modified.
+	 */
+	public Collection<TileObject> getObjects(int objectID)
+	{
+		rebuildIfStale();
+		Set<TileObject> objects = objectsById.get(objectID);
+		return objects == null ? Collections.emptySet() : objects;
+	}
+
+	/**
+	 * @param objectID the id to look for
+	 * @param plane the plane to look on
+	 * @return true if an object with the id is in the scene on the plane
+	 */
+	public boolean hasObject(int objectID, int plane)
+	{
+		for (TileObject object : getObjects(objectID))
+		{
+			if (object.getPlane() == plane)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param objectID the id to look for
+	 * @return every object in the scene, on any plane, which either has the id or is currently showing it as an impostor
+	 */
+	public List<TileObject> getObjectsShowing(int objectID)
+	{
+		List<TileObject> objects = new ArrayList<>(getObjects(objectID));
+		Set<TileObject> impostors = objectsByImpostorId.get(objectID);
+		if (impostors != null)
+		{
+			for (TileObject object : impostors)
+			{
+				if (getImpostorId(object.getId()) == objectID)
+				{
+					objects.add(object);
+				}
+			}
+		}
+		return objects;
+	}
+
+	/**
+	 * @param objectID the object's id
+	 * @return the ids the object can change into, without loading its definition more than once
+	 */
+	public int[] getImpostorIds(int objectID)
+	{
+		int[] impostorIds = impostorIdsByObjectId.get(objectID);
+		if (impostorIds == null)
+		{
+			ObjectComposition comp = client.getObjectDefinition(objectID);
+			impostorIds = comp == null || comp.getImpostorIds() == null ? NO_IMPOSTORS : comp.getImpostorIds();
+			impostorIdsByObjectId.put(objectID, impostorIds);
+		}
+		return impostorIds;
+	}
+
+	/**
+	 * @param objectID the object's id
+	 * @return the id the object is currently showing, or -1 if it has no impostor
+	 */
+	public int getImpostorId(int objectID)
+	{
+		if (getImpostorIds(objectID).length == 0)
+		{
+			return -1;
+		}
+
+		long valuesChanged = vars.getValuesChanged();
+		if (valuesChanged != currentImpostorIdsVars)
+		{
+			currentImpostorIds.clear();
+			currentImpostorIdsVars = valuesChanged;
+		}
+
+		int impostorId = currentImpostorIds.get(objectID);
+		if (impostorId == UNKNOWN_IMPOSTOR)
+		{
+			ObjectComposition impostor = client.getObjectDefinition(objectID).getImpostor();
+			impostorId = impostor == null ? -1 : impostor.getId();
+			currentImpostorIds.put(objectID, impostorId);
+		}
+		return impostorId;
+	}
+
+	/**
+	 * Drop the index, so it is rebuilt from the scene the next time it is needed. Spawn events are missed
+	 * while the index isn't registered on the event bus.
+	 */
+	public void clear()
+	{
+		objectsById.clear();
+		objectsByImpostorId.clear();
+		stale = true;
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOADING || event.getGameState() == GameState.HOPPING
+			|| event.getGameState() == GameState.LOGIN_SCREEN)
+		{
+			stale = true;
+		}
+	}
+
+	@Subscribe
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		add(event.getGameObject());
+	}
+
+	@Subscribe
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		remove(event.getGameObject());
+	}
+
+	@Subscribe
+	public void onGameObjectChanged(GameObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getGameObject());
+	}
+
+	@Subscribe
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		add(event.getWallObject());
+	}
+
+	@Subscribe
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		remove(event.getWallObject());
+	}
+
+	@Subscribe
+	public void onWallObjectChanged(WallObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getWallObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		add(event.getGroundObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		remove(event.getGroundObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectChanged(GroundObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getGroundObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		add(event.getDecorativeObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		remove(event.getDecorativeObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectChanged(DecorativeObjectChanged event)
+	{
+		remove(event.getPrevious());
+		add(event.getDecorativeObject());
+	}
+
+	private void rebuildIfStale()
+	{
+		if (!stale)
+		{
+			return;
+		}
+
+		objectsById.clear();
+		objectsByImpostorId.clear();
+		stale = false;
+
+		Scene scene = client.getScene();
+		Tile[][][] tiles = scene == null ? null : scene.getTiles();
+		if (tiles == null)
+		{
+			return;
+		}
+
+		for (Tile[][] plane : tiles)
+		{
+			for (Tile[] lineOfTiles : plane)
+			{
+				for (Tile tile : lineOfTiles)
+				{
+					if (tile == null)
+					{
+						continue;
+					}
+
+					for (GameObject object : tile.getGameObjects())
+					{
+						add(object);
+					}
+					add(tile.getDecorativeObject());
+					add(tile.getGroundObject());
+					add(tile.getWallObject());
+				}
+			}
+		}
+	}
+
+	private void add(TileObject object)
+	{
+		// Objects spawned before the index is rebuilt are picked up by the rebuild
+		if (object == null || stale)
+		{
+			return;
+		}
+
+		objectsById.computeIfAbsent(object.getId(), k -> newIdentitySet()).add(object);
+		for (int impostorId : getImpostorIds(object.getId()))
+		{
+			objectsByImpostorId.computeIfAbsent(impostorId, k -> newIdentitySet()).add(object);
+		}
+	}
+
+	private void remove(TileObject object)
+	{
+		if (object == null || stale)
+		{
+			return;
+		}
+
+		removeFrom(objectsById, object.getId(), object);
+		for (int impostorId : getImpostorIds(object.getId()))
+		{
+			removeFrom(objectsByImpostorId, impostorId, object);
+		}
+	}
+
+	private static void removeFrom(Map<Integer, Set<TileObject>> objectsByKey, int key, TileObject object)
+	{
+		Set<TileObject> objects = objectsByKey.get(key);
+		if (objects != null)
+		{
+			objects.remove(object);
+			if (objects.isEmpty())
+			{
+				objectsByKey.remove(key);
+			}
+		}
+	}
+
+	private static Set<TileObject> newIdentitySet()
+	{
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+}
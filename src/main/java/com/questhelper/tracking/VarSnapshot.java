@@ -0,0 +1,332 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.requirements.Requirement;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.VarbitComposition;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.VarbitChanged;
+
+/**
+ * A copy of the player's varps and of every varbit which has been read through it, kept up to date from
+ * {@link VarbitChanged} events.<br>
+ * Reads are served from primitive arrays rather than asking the client each time. Requirements which read a
+ * value through the snapshot are remembered against that varbit or varp, so when it changes only those
+ * requirements need to be checked again.<br>
+ * Events are not handled here directly. The plugin passes them on before anything else reacts to them, so
+ * that no reader sees a value from before the change.
+ */
+@Singleton
+public class VarSnapshot
+{
+	private final Client client;
+
+	private int[] varps = new int[0];
+
+	private int[] varbits = new int[0];
+	private final BitSet trackedVarbits = new BitSet();
+
+	/** The tracked varbits packed into each varp, so a varp change only re-reads its own varbits */
+	private final Map<Integer, int[]> trackedVarbitsByVarp = new HashMap<>();
+
+	/** Tracked varbits without a definition, whose varp isn't known, so they are re-read on every change */
+	private final BitSet unmappedVarbits = new BitSet();
+
+	/** Varps changed since the last flush. When allChanged is set every varp and varbit is re-read instead. */
+	private final BitSet changedVarps = new BitSet();
+	private boolean allChanged = true;
+
+	private final Map<Integer, Set<Requirement>> varbitDependents = new HashMap<>();
+	private final Map<Integer, Set<Requirement>> varpDependents = new HashMap<>();
+	private final Set<Requirement> dependents = newIdentitySet();
+
+	/** Dependents of values which have changed, waiting to be collected by {@link #drainChangedDependents(Consumer)} */
+	private final Set<Requirement> changedDependents = newIdentitySet();
+
+	private long valuesChanged;
+
+	@Inject
+	public VarSnapshot(Client client)
+	{
+		this.client = client;
+	}
+
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		if (event.getIndex() < 0)
+		{
+			allChanged = true;
+		}
+		else
+		{
+			changedVarps.set(event.getIndex());
+		}
+	}
+
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOGGED_IN || event.getGameState() == GameState.HOPPING)
+		{
+			allChanged = true;
+		}
+	}
+
+	/**
+	 * @return how many times a varp or tracked varbit has been seen to change. Useful for noticing that
+	 * something has changed without knowing which var to look at.
+	 */
+	public long getValuesChanged()
+	{
+		flush();
+		return valuesChanged;
+	}
+
+	/**
+	 * @param varbitId the varbit to read
+	 * @return the varbit's current value
+	 */
+	public int getVarbitValue(int varbitId)
+	{
+		flush();
+		if (!trackedVarbits.get(varbitId))
+		{
+			if (varbitId >= varbits.length)
+			{
+				int[] grown = new int[Math.max(varbitId + 1, varbits.length * 2)];
+				System.arraycopy(varbits, 0, grown, 0, varbits.length);
+				varbits = grown;
+			}
+			varbits[varbitId] = client.getVarbitValue(varbitId);
+			track(varbitId);
+		}
+		return varbits[varbitId];
+	}
+
+	private void track(int varbitId)
+	{
+		trackedVarbits.set(varbitId);
+
+		VarbitComposition varbit = client.getVarbit(varbitId);
+		if (varbit == null)
+		{
+			unmappedVarbits.set(varbitId);
+			return;
+		}
+
+		int[] packedVarbits = trackedVarbitsByVarp.get(varbit.getIndex());
+		if (packedVarbits == null)
+		{
+			packedVarbits = new int[] { varbitId };
+		}
+		else
+		{
+			packedVarbits = Arrays.copyOf(packedVarbits, packedVarbits.length + 1);
+			packedVarbits[packedVarbits.length - 1] = varbitId;
+		}
+		trackedVarbitsByVarp.put(varbit.getIndex(), packedVarbits);
+	}
+
+	/**
+	 * Read a varbit on behalf of a requirement, which will be reported as changed when the varbit changes.
+	 *
+	 * @param dependent the requirement reading the varbit
+	 * @param varbitId the varbit to read
+	 * @return the varbit's current value
+	 */
+	public int getVarbitValue(Requirement dependent, int varbitId)
+	{
+		addDependent(varbitDependents, varbitId, dependent);
+		return getVarbitValue(varbitId);
+	}
+
+	/**
+	 * @param varpId the varp to read
+	 * @return the varp's current value
+	 */
+	public int getVarpValue(int varpId)
+	{
+		flush();
+		if (varpId < 0 || varpId >= varps.length)
+		{
+			return client.getVarpValue(varpId);
+		}
+		return varps[varpId];
+	}
+
+	/**
+	 * Read a varp on behalf of a requirement, which will be reported as changed when the varp changes.
+	 *
+	 * @param dependent the requirement reading the varp
+	 * @param varpId the varp to read
+	 * @return the varp's current value
+	 */
+	public int getVarpValue(Requirement dependent, int varpId)
+	{
+		addDependent(varpDependents, varpId, dependent);
+		return getVarpValue(varpId);
+	}
+
+	/**
+	 * @return true if the requirement has read a varbit or varp through this snapshot, and so will be
+	 * reported when one of them changes
+	 */
+	public boolean isDependent(Requirement requirement)
+	{
+		return dependents.contains(requirement);
+	}
+
+	/**
+	 * Pass every requirement whose varbits or varps have changed since the last call to the consumer.
+	 */
+	public void drainChangedDependents(Consumer<Requirement> consumer)
+	{
+		flush();
+		if (changedDependents.isEmpty())
+		{
+			return;
+		}
+		for (Requirement requirement : changedDependents)
+		{
+			consumer.accept(requirement);
+		}
+		changedDependents.clear();
+	}
+
+	/**
+	 * Forget which requirements depend on which values. Called when a quest is shut down.
+	 */
+	public void clearDependents()
+	{
+		varbitDependents.clear();
+		varpDependents.clear();
+		dependents.clear();
+		changedDependents.clear();
+	}
+
+	private void flush()
+	{
+		if (!allChanged && changedVarps.isEmpty())
+		{
+			return;
+		}
+
+		int[] clientVarps = client.getVarps();
+		if (varps.length != clientVarps.length)
+		{
+			varps = new int[clientVarps.length];
+			allChanged = true;
+		}
+
+		if (allChanged)
+		{
+			for (int varpId = 0; varpId < clientVarps.length; varpId++)
+			{
+				updateVarp(varpId, clientVarps[varpId]);
+			}
+			for (int varbitId = trackedVarbits.nextSetBit(0); varbitId >= 0; varbitId = trackedVarbits.nextSetBit(varbitId + 1))
+			{
+				updateVarbit(varbitId);
+			}
+		}
+		else
+		{
+			for (int varpId = changedVarps.nextSetBit(0); varpId >= 0 && varpId < clientVarps.length; varpId = changedVarps.nextSetBit(varpId + 1))
+			{
+				updateVarp(varpId, clientVarps[varpId]);
+
+				int[] packedVarbits = trackedVarbitsByVarp.get(varpId);
+				if (packedVarbits != null)
+				{
+					for (int varbitId : packedVarbits)
+					{
+						updateVarbit(varbitId);
+					}
+				}
+			}
+			for (int varbitId = unmappedVarbits.nextSetBit(0); varbitId >= 0; varbitId = unmappedVarbits.nextSetBit(varbitId + 1))
+			{
+				updateVarbit(varbitId);
+			}
+		}
+
+		allChanged = false;
+		changedVarps.clear();
+	}
+
+	private void updateVarp(int varpId, int value)
+	{
+		if (varps[varpId] != value)
+		{
+			varps[varpId] = value;
+			valueChanged(varpDependents, varpId);
+		}
+	}
+
+	private void updateVarbit(int varbitId)
+	{
+		int value = client.getVarbitValue(varbitId);
+		if (value != varbits[varbitId])
+		{
+			varbits[varbitId] = value;
+			valueChanged(varbitDependents, varbitId);
+		}
+	}
+
+	private void valueChanged(Map<Integer, Set<Requirement>> dependentsById, int id)
+	{
+		valuesChanged++;
+		Set<Requirement> requirements = dependentsById.get(id);
+		if (requirements != null)
+		{
+			changedDependents.addAll(requirements);
+		}
+	}
+
+	private void addDependent(Map<Integer, Set<Requirement>> dependentsById, int id, Requirement dependent)
+	{
+		dependents.add(dependent);
+		dependentsById.computeIfAbsent(id, k -> newIdentitySet()).add(dependent);
+	}
+
+	private static Set<Requirement> newIdentitySet()
+	{
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+}
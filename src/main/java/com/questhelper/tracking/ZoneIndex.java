@@ -0,0 +1,194 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.tracking;
+
+import com.questhelper.Zone;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Works out once per tick which of the {@link Zone}s that have been asked about contain the player, so each
+ * zone check afterwards is a single lookup.<br>
+ * Zones are bucketed by the map regions they cover, so only the zones overlapping the player's region are
+ * tested when the player moves. Very large zones, such as the whole overworld, are kept aside and always tested.
+ */
+@Singleton
+public class ZoneIndex
+{
+	/** Zones covering more regions than this are tested every time instead of being bucketed */
+	private static final int MAX_BUCKETED_REGIONS = 16;
+
+	private final Client client;
+
+	private final List<Zone> zones = new ArrayList<>();
+	private final Map<Zone, Integer> zoneSlots = new IdentityHashMap<>();
+	private final Map<Integer, List<Integer>> slotsByRegion = new HashMap<>();
+	private final List<Integer> largeZoneSlots = new ArrayList<>();
+
+	/** The slots of every zone containing the player's location */
+	private final BitSet containing = new BitSet();
+
+	private int currentTick = -1;
+	private WorldPoint playerLocation;
+
+	@Inject
+	public ZoneIndex(Client client)
+	{
+		this.client = client;
+	}
+
+	/**
+	 * @return the player's location this tick, translated out of any instance, or null if there is no player
+	 */
+	public WorldPoint getPlayerLocation()
+	{
+		updateTick();
+		return playerLocation;
+	}
+
+	/**
+	 * @param zone the zone to check
+	 * @return true if the zone contains the player this tick
+	 */
+	public boolean containsPlayer(Zone zone)
+	{
+		updateTick();
+		if (playerLocation == null)
+		{
+			return false;
+		}
+
+		Integer slot = zoneSlots.get(zone);
+		if (slot == null)
+		{
+			slot = register(zone);
+		}
+		return containing.get(slot);
+	}
+
+	/**
+	 * Forget every zone. Called when a quest is shut down so its zones can be collected.
+	 */
+	public void clear()
+	{
+		zones.clear();
+		zoneSlots.clear();
+		slotsByRegion.clear();
+		largeZoneSlots.clear();
+		containing.clear();
+	}
+
+	private int register(Zone zone)
+	{
+		int slot = zones.size();
+		zones.add(zone);
+		zoneSlots.put(zone, slot);
+
+		int minRegionX = zone.getMinX() >> 6;
+		int maxRegionX = zone.getMaxX() >> 6;
+		int minRegionY = zone.getMinY() >> 6;
+		int maxRegionY = zone.getMaxY() >> 6;
+		if ((maxRegionX - minRegionX + 1) * (maxRegionY - minRegionY + 1) > MAX_BUCKETED_REGIONS)
+		{
+			largeZoneSlots.add(slot);
+		}
+		else
+		{
+			for (int regionX = minRegionX; regionX <= maxRegionX; regionX++)
+			{
+				for (int regionY = minRegionY; regionY <= maxRegionY; regionY++)
+				{
+					slotsByRegion.computeIfAbsent(regionId(regionX, regionY), k -> new ArrayList<>()).add(slot);
+				}
+			}
+		}
+
+		if (playerLocation != null && zone.contains(playerLocation))
+		{
+			containing.set(slot);
+		}
+		return slot;
+	}
+
+	private void updateTick()
+	{
+		int tick = client.getTickCount();
+		if (tick == currentTick)
+		{
+			return;
+		}
+		currentTick = tick;
+
+		Player player = client.getLocalPlayer();
+		WorldPoint location = player == null ? null : WorldPoint.fromLocalInstance(client, player.getLocalLocation());
+		if (location == null ? playerLocation == null : location.equals(playerLocation))
+		{
+			return;
+		}
+		playerLocation = location;
+
+		containing.clear();
+		if (location == null)
+		{
+			return;
+		}
+
+		List<Integer> regionSlots = slotsByRegion.get(regionId(location.getX() >> 6, location.getY() >> 6));
+		if (regionSlots != null)
+		{
+			testZones(regionSlots, location);
+		}
+		testZones(largeZoneSlots, location);
+	}
+
+	private void testZones(List<Integer> slots, WorldPoint location)
+	{
+		for (int i = 0; i < slots.size(); i++)
+		{
+			int slot = slots.get(i);
+			if (zones.get(slot).contains(location))
+			{
+				containing.set(slot);
+			}
+		}
+	}
+
+	private static int regionId(int regionX, int regionY)
+	{
+		return regionX << 8 | regionY;
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, ordered list of distinct ids, which also keeps the ids in a primitive hash table so checking
+ * an id is constant time and doesn't box it.<br>
+ * As it can't change it can be shared, so requirements which are copied or built from the same collection
+ * of ids reference one list rather than each holding a copy.
+ */
+public final class IdList extends AbstractList<Integer> implements RandomAccess
+{
+	private static final int FREE_KEY = 0;
+
+	public static final IdList EMPTY = new IdList(new int[0]);
+
+	private final int[] ids;
+
+	/** The ids by hash, with FREE_KEY marking an empty slot */
+	private final int[] table;
+	private final boolean containsFreeKey;
+
+	private IdList(int[] ids)
+	{
+		this.ids = ids;
+		this.table = new int[Integer.highestOneBit(Math.max(2, ids.length * 2) - 1) << 1];
+
+		boolean hasFreeKey = false;
+		int mask = table.length - 1;
+		for (int id : ids)
+		{
+			if (id == FREE_KEY)
+			{
+				hasFreeKey = true;
+				continue;
+			}
+
+			int index = mix(id) & mask;
+			while (table[index] != FREE_KEY)
+			{
+				index = (index + 1) & mask;
+			}
+			table[index] = id;
+		}
+		this.containsFreeKey = hasFreeKey;
+	}
+
+	/**
+	 * @param ids the ids, in order. Repeated ids are only kept the first time they appear.
+	 */
+	public static IdList of(int... ids)
+	{
+		return ids.length == 0 ? EMPTY : new IdList(Arrays.stream(ids).distinct().toArray());
+	}
+
+	public static IdList copyOf(Collection<Integer> ids)
+	{
+		if (ids instanceof IdList)
+		{
+			return (IdList) ids;
+		}
+		return of(ids.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	/**
+	 * @param more the ids to add after the ids in this list
+	 * @return a list with the ids of this list followed by any of the given ids it doesn't already have
+	 */
+	public IdList plus(Collection<Integer> more)
+	{
+		int[] added = more.stream()
+			.mapToInt(Integer::intValue)
+			.filter(id -> !containsId(id))
+			.distinct()
+			.toArray();
+		if (added.length == 0)
+		{
+			return this;
+		}
+
+		int[] combined = Arrays.copyOf(ids, ids.length + added.length);
+		System.arraycopy(added, 0, combined, ids.length, added.length);
+		return new IdList(combined);
+	}
+
+	public boolean containsId(int id)
+	{
+		if (id == FREE_KEY)
+		{
+			return containsFreeKey;
+		}
+
+		int mask = table.length - 1;
+		int index = mix(id) & mask;
+		while (table[index] != FREE_KEY)
+		{
+			if (table[index] == id)
+			{
+				return true;
+			}
+			index = (index + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * @param others the ids to look for
+	 * @return true if any of the ids are in the list
+	 */
+	public boolean containsAny(int[] others)
+	{
+		for (int id : others)
+		{
+			if (containsId(id))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public int getId(int index)
+	{
+		return ids[index];
+	}
+
+	/**
+	 * @return a copy of the ids, in order
+	 */
+	public int[] toIntArray()
+	{
+		return ids.clone();
+	}
+
+	@Override
+	public Integer get(int index)
+	{
+		return ids[index];
+	}
+
+	@Override
+	public int size()
+	{
+		return ids.length;
+	}
+
+	@Override
+	public boolean contains(Object o)
+	{
+		return o instanceof Integer && containsId((Integer) o);
+	}
+
+	private static int mix(int key)
+	{
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
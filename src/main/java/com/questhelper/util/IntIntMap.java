@@ -0,0 +1,193 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.questhelper.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from int keys to int values which stores both in primitive arrays, so reading and writing it
+ * doesn't box anything.<br>
+ * Missing keys read as a default value, which is 0 unless another is given.
+ */
+public class IntIntMap
+{
+	private static final int FREE_KEY = 0;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+	private int threshold;
+
+	/** FREE_KEY marks an empty slot, so it is stored outside the arrays */
+	private boolean hasFreeKey;
+	private int freeKeyValue;
+
+	private final int defaultValue;
+
+	public IntIntMap()
+	{
+		this(16, 0);
+	}
+
+	public IntIntMap(int expectedSize)
+	{
+		this(expectedSize, 0);
+	}
+
+	public IntIntMap(int expectedSize, int defaultValue)
+	{
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		this.keys = new int[capacity];
+		this.values = new int[capacity];
+		this.threshold = (int) (capacity * LOAD_FACTOR);
+		this.defaultValue = defaultValue;
+	}
+
+	public int get(int key)
+	{
+		if (key == FREE_KEY)
+		{
+			return hasFreeKey ? freeKeyValue : defaultValue;
+		}
+
+		int index = indexOf(key);
+		return index < 0 ? defaultValue : values[index];
+	}
+
+	public boolean containsKey(int key)
+	{
+		if (key == FREE_KEY)
+		{
+			return hasFreeKey;
+		}
+		return indexOf(key) >= 0;
+	}
+
+	public void put(int key, int value)
+	{
+		if (key == FREE_KEY)
+		{
+			if (!hasFreeKey)
+			{
+				size++;
+			}
+			hasFreeKey = true;
+			freeKeyValue = value;
+			return;
+		}
+
+		int mask = keys.length - 1;
+		int index = mix(key) & mask;
+		while (keys[index] != FREE_KEY)
+		{
+			if (keys[index] == key)
+			{
+				values[index] = value;
+				return;
+			}
+			index = (index + 1) & mask;
+		}
+
+		keys[index] = key;
+		values[index] = value;
+		if (++size >= threshold)
+		{
+			rehash(keys.length * 2);
+		}
+	}
+
+	/**
+	 * Add an amount to the value of a key, treating a missing key as having the default value.
+	 */
+	public void add(int key, int amount)
+	{
+		put(key, get(key) + amount);
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public void clear()
+	{
+		if (size == 0)
+		{
+			return;
+		}
+		Arrays.fill(keys, FREE_KEY);
+		hasFreeKey = false;
+		size = 0;
+	}
+
+	private int indexOf(int key)
+	{
+		int mask = keys.length - 1;
+		int index = mix(key) & mask;
+		while (keys[index] != FREE_KEY)
+		{
+			if (keys[index] == key)
+			{
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void rehash(int capacity)
+	{
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[capacity];
+		values = new int[capacity];
+		threshold = (int) (capacity * LOAD_FACTOR);
+		size = hasFreeKey ? 1 : 0;
+
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != FREE_KEY)
+			{
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	/** Spread the bits of sequential ids so they don't cluster in neighbouring slots */
+	private static int mix(int key)
+	{
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
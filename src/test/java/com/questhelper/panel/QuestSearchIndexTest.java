@@ -0,0 +1,143 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.panel;
+
+import com.questhelper.QuestHelperQuest;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import net.runelite.client.util.Text;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class QuestSearchIndexTest
+{
+	private final QuestSearchIndex index = new QuestSearchIndex();
+
+	@Test
+	public void emptyTextMatchesEveryQuest()
+	{
+		assertNull(index.search(""));
+		assertNull(index.search("   "));
+	}
+
+	@Test
+	public void keywordsAndTheirPartsMatchLikeText()
+	{
+		for (String term : keywordTerms())
+		{
+			assertMatchesLikeText(term);
+		}
+	}
+
+	@Test
+	public void misspeltTermsMatchLikeText()
+	{
+		Random random = new Random(0);
+		for (String term : keywordTerms())
+		{
+			if (term.length() < 3)
+			{
+				continue;
+			}
+
+			// Replace one letter, including the first, so fuzzy matches on a wrong first letter are covered
+			char[] chars = term.toCharArray();
+			chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+			assertMatchesLikeText(new String(chars));
+		}
+	}
+
+	@Test
+	public void severalTermsMatchLikeText()
+	{
+		assertMatchesLikeText("dragon slayer");
+		assertMatchesLikeText("the  fremennik");
+		assertMatchesLikeText("RECIPE disaster dwarf");
+		assertMatchesLikeText("monkey madness ii");
+		assertMatchesLikeText("xyzzy");
+	}
+
+	@Test
+	public void repeatedSearchesGiveTheSameResult()
+	{
+		BitSet first = index.search("dra");
+		BitSet second = index.search("dra");
+		assertEquals(first, second);
+
+		// The result returned is the caller's to change
+		second.clear();
+		assertEquals(first, index.search("dra"));
+	}
+
+	private Set<String> keywordTerms()
+	{
+		Set<String> terms = new LinkedHashSet<>();
+		for (QuestHelperQuest quest : QuestHelperQuest.values())
+		{
+			for (String keyword : quest.getKeywords())
+			{
+				terms.add(keyword);
+				for (int end = 1; end < keyword.length(); end++)
+				{
+					terms.add(keyword.substring(0, end));
+				}
+				if (keyword.length() > 2)
+				{
+					terms.add(keyword.substring(1, keyword.length() - 1));
+				}
+			}
+		}
+		terms.remove("");
+		return terms;
+	}
+
+	private void assertMatchesLikeText(String text)
+	{
+		List<String> searchTerms = Arrays.asList(text.toLowerCase().split(" "));
+		BitSet expected = new BitSet();
+		for (QuestHelperQuest quest : QuestHelperQuest.values())
+		{
+			if (Text.matchesSearchTerms(searchTerms, quest.getKeywords()))
+			{
+				expected.set(quest.ordinal());
+			}
+		}
+
+		BitSet actual = index.search(text);
+		if (actual == null)
+		{
+			actual = new BitSet();
+			actual.set(0, QuestHelperQuest.values().length);
+		}
+		assertEquals("Search for '" + text + "'", expected, actual);
+	}
+}
@@ -0,0 +1,435 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.requirements.evaluation;
+
+import com.questhelper.requirements.ChatMessageRequirement;
+import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.conditional.Conditions;
+import com.questhelper.requirements.util.LogicType;
+import com.questhelper.requirements.util.Operation;
+import com.questhelper.tracking.VarSnapshot;
+import com.questhelper.tracking.ZoneIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import net.runelite.api.Client;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares {@link Conditions}, which are checked through a {@link CompiledRequirement}, against the
+ * counting check which every child used to be put through.
+ */
+public class CompiledRequirementTest
+{
+	/** Inputs given to the children in turn, so that they are re-ordered by cost and some hold state */
+	private static final RequirementInput[] CHILD_INPUTS = {
+		RequirementInput.SCENE, RequirementInput.VARBIT, RequirementInput.UNKNOWN, RequirementInput.INVENTORY, RequirementInput.CHAT
+	};
+
+	private static final int MAX_CHILDREN = 5;
+
+	private Client client;
+	private RequirementEvaluator evaluator;
+	private RequirementEvaluationContext context;
+
+	@Before
+	public void before()
+	{
+		client = mock(Client.class);
+		VarSnapshot vars = new VarSnapshot(client);
+		ZoneIndex zones = new ZoneIndex(client);
+		evaluator = new RequirementEvaluator(client, vars, zones);
+		context = new RequirementEvaluationContext(client, evaluator, vars, null, null, zones, null, null, null);
+	}
+
+	@Test
+	public void logicTypesMatchCounting()
+	{
+		for (LogicType logicType : LogicType.values())
+		{
+			for (int size = 0; size <= MAX_CHILDREN; size++)
+			{
+				List<StubRequirement> children = children(size);
+				Requirement[] array = children.toArray(new Requirement[0]);
+				Conditions conditions = new Conditions(logicType, array);
+				LegacyConditions legacy = new LegacyConditions(false, logicType, null, 0, array);
+
+				assertMatchesForEveryResult(logicType + " of " + size, conditions, legacy, children);
+			}
+		}
+	}
+
+	@Test
+	public void operationsMatchCounting()
+	{
+		for (Operation operation : Operation.values())
+		{
+			for (int size = 0; size <= MAX_CHILDREN; size++)
+			{
+				for (int quantity = 0; quantity <= size + 1; quantity++)
+				{
+					List<StubRequirement> children = children(size);
+					Requirement[] array = children.toArray(new Requirement[0]);
+					Conditions conditions = new Conditions(operation, quantity, array);
+					LegacyConditions legacy = new LegacyConditions(false, LogicType.AND, operation, quantity, array);
+
+					assertMatchesForEveryResult(operation + " " + quantity + " of " + size, conditions, legacy, children);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void nestedConditionsMatchCounting()
+	{
+		for (LogicType outer : LogicType.values())
+		{
+			for (LogicType inner : LogicType.values())
+			{
+				List<StubRequirement> children = children(MAX_CHILDREN);
+				Requirement[] first = children.subList(0, 2).toArray(new Requirement[0]);
+				Requirement[] second = children.subList(2, MAX_CHILDREN).toArray(new Requirement[0]);
+
+				Conditions conditions = new Conditions(outer, new Conditions(inner, first), new Conditions(inner, second));
+				LegacyConditions legacy = new LegacyConditions(false, outer, null, 0,
+					new LegacyConditions(false, inner, null, 0, first), new LegacyConditions(false, inner, null, 0, second));
+
+				assertMatchesForEveryResult(outer + " of " + inner, conditions, legacy, children);
+			}
+		}
+	}
+
+	@Test
+	public void childrenHoldingStateAreAlwaysChecked()
+	{
+		StubRequirement cheap = new StubRequirement(RequirementInput.VARBIT);
+		StubRequirement stateful = new StubRequirement(RequirementInput.UNKNOWN);
+		RequirementEvaluationContext uncached = RequirementEvaluationContext.uncached(client);
+
+		Conditions and = new Conditions(LogicType.AND, cheap, stateful);
+		cheap.result = false;
+		assertFalse(and.check(uncached));
+		assertEquals(1, stateful.checks);
+
+		Conditions or = new Conditions(LogicType.OR, cheap, stateful);
+		cheap.result = true;
+		assertTrue(or.check(uncached));
+		assertEquals(2, stateful.checks);
+
+		Conditions xor = new Conditions(LogicType.XOR, cheap, stateful);
+		assertFalse(xor.check(uncached));
+		assertEquals(3, stateful.checks);
+	}
+
+	@Test
+	public void chatMessagesMatchCounting()
+	{
+		ChatMessageRequirement chat = new ChatMessageRequirement("You pull the lever.");
+		StubRequirement other = new StubRequirement(RequirementInput.VARBIT);
+		RequirementEvaluationContext uncached = RequirementEvaluationContext.uncached(client);
+
+		for (LogicType logicType : LogicType.values())
+		{
+			chat.setHasReceivedChatMessage(false);
+			Conditions conditions = new Conditions(logicType, chat, other);
+			LegacyConditions legacy = new LegacyConditions(false, logicType, null, 0, chat, other);
+
+			for (int state = 0; state < 4; state++)
+			{
+				chat.setHasReceivedChatMessage((state & 1) != 0);
+				other.result = (state & 2) != 0;
+				assertEquals(logicType + " state " + state, legacy.check(client), conditions.check(uncached));
+			}
+		}
+	}
+
+	@Test
+	public void onlyNeedToPassOnceStaysPassed()
+	{
+		for (LogicType logicType : LogicType.values())
+		{
+			List<StubRequirement> children = children(3);
+			Requirement[] array = children.toArray(new Requirement[0]);
+			Conditions conditions = new Conditions(true, logicType, array);
+			LegacyConditions legacy = new LegacyConditions(true, logicType, null, 0, array);
+
+			assertMatchesForEveryResult("once " + logicType, conditions, legacy, children);
+		}
+	}
+
+	@Test
+	public void onlyNeedToPassOnceOperationsMatchCounting()
+	{
+		List<StubRequirement> children = children(3);
+		Requirement[] array = children.toArray(new Requirement[0]);
+		Conditions conditions = new Conditions(true, Operation.GREATER_EQUAL, 2, array);
+		LegacyConditions legacy = new LegacyConditions(true, LogicType.AND, Operation.GREATER_EQUAL, 2, array);
+
+		assertMatchesForEveryResult("once >= 2", conditions, legacy, children);
+	}
+
+	/**
+	 * A child which only needs to pass once must still be checked when a cheaper sibling has already decided
+	 * the result, or it would never notice that it has passed.
+	 */
+	@Test
+	public void onlyNeedToPassOnceChildIsCheckedBehindShortCircuit()
+	{
+		StubRequirement first = new StubRequirement(RequirementInput.SCENE);
+		StubRequirement second = new StubRequirement(RequirementInput.SCENE);
+		StubRequirement sibling = new StubRequirement(RequirementInput.VARBIT);
+
+		Conditions once = new Conditions(true, LogicType.AND, first, second);
+		Conditions conditions = new Conditions(LogicType.OR, sibling, once);
+		LegacyConditions legacyOnce = new LegacyConditions(true, LogicType.AND, null, 0, first, second);
+		LegacyConditions legacy = new LegacyConditions(false, LogicType.OR, null, 0, sibling, legacyOnce);
+
+		RequirementEvaluationContext uncached = RequirementEvaluationContext.uncached(client);
+		boolean[][] states = {
+			{ true, true, true },
+			{ false, false, false },
+			{ false, true, false },
+		};
+		for (boolean[] state : states)
+		{
+			first.result = state[0];
+			second.result = state[1];
+			sibling.result = state[2];
+			assertEquals(legacy.check(client), conditions.check(uncached));
+		}
+		assertTrue(once.isHasPassed());
+	}
+
+	@Test
+	public void unchangedInputsSkipRecheck()
+	{
+		StubRequirement varbit = new StubRequirement(RequirementInput.VARBIT);
+		StubRequirement inventory = new StubRequirement(RequirementInput.INVENTORY);
+		Conditions conditions = new Conditions(LogicType.AND, varbit, inventory);
+		LegacyConditions legacy = new LegacyConditions(false, LogicType.AND, null, 0, varbit, inventory);
+		varbit.result = true;
+		inventory.result = true;
+
+		when(client.getTickCount()).thenReturn(1);
+		assertTrue(context.check(conditions));
+		assertEquals(1, varbit.checks);
+		assertEquals(1, inventory.checks);
+
+		// Nothing has changed on the next tick, so neither child is checked again
+		when(client.getTickCount()).thenReturn(2);
+		assertTrue(context.check(conditions));
+		assertEquals(1, varbit.checks);
+		assertEquals(1, inventory.checks);
+
+		// Only the inventory has changed, so the varbit's result is re-used
+		inventory.result = false;
+		evaluator.markChanged(RequirementInput.INVENTORY);
+		assertEquals(legacy.check(client), context.check(conditions));
+		assertEquals(1, varbit.checks);
+		assertEquals(2, inventory.checks);
+	}
+
+	@Test
+	public void childrenHoldingStateAreNotSkipped()
+	{
+		StubRequirement varbit = new StubRequirement(RequirementInput.VARBIT);
+		StubRequirement stateful = new StubRequirement(RequirementInput.UNKNOWN);
+		Conditions conditions = new Conditions(LogicType.OR, varbit, stateful);
+		varbit.result = true;
+
+		for (int tick = 1; tick <= 3; tick++)
+		{
+			when(client.getTickCount()).thenReturn(tick);
+			assertTrue(context.check(conditions));
+			assertEquals(1, varbit.checks);
+			assertEquals(tick, stateful.checks);
+		}
+	}
+
+	@Test
+	public void revisionChangeSkipsStoredResult()
+	{
+		ChatMessageRequirement chat = new ChatMessageRequirement("You pull the lever.");
+		StubRequirement varbit = new StubRequirement(RequirementInput.VARBIT);
+		Conditions conditions = new Conditions(LogicType.OR, varbit, chat);
+
+		when(client.getTickCount()).thenReturn(1);
+		assertFalse(context.check(conditions));
+
+		// Receiving the message part way through the tick changes the revision, not any tracked input
+		chat.messageReceived(client);
+		assertTrue(context.check(conditions));
+		assertEquals(1, varbit.checks);
+	}
+
+	/**
+	 * Check the conditions and the legacy conditions against each other for every combination of the
+	 * children's results, in order, so conditions which only need to pass once see a history.
+	 */
+	private void assertMatchesForEveryResult(String description, Requirement conditions, Requirement legacy,
+		List<StubRequirement> children)
+	{
+		RequirementEvaluationContext uncached = RequirementEvaluationContext.uncached(client);
+		for (int results = 0; results < 1 << children.size(); results++)
+		{
+			for (int i = 0; i < children.size(); i++)
+			{
+				children.get(i).result = (results & (1 << i)) != 0;
+			}
+
+			int[] statefulChecks = checksOfStatefulChildren(children);
+			boolean expected = legacy.check(client);
+			int[] legacyChecks = checksOfStatefulChildren(children);
+			boolean actual = conditions.check(uncached);
+			int[] compiledChecks = checksOfStatefulChildren(children);
+
+			assertEquals(description + " with results " + Integer.toBinaryString(results), expected, actual);
+			for (int i = 0; i < statefulChecks.length; i++)
+			{
+				assertEquals(description + " checks of stateful child " + i,
+					legacyChecks[i] - statefulChecks[i], compiledChecks[i] - legacyChecks[i]);
+			}
+		}
+	}
+
+	private static int[] checksOfStatefulChildren(List<StubRequirement> children)
+	{
+		List<Integer> checks = new ArrayList<>();
+		for (StubRequirement child : children)
+		{
+			if (child.inputs.contains(RequirementInput.UNKNOWN))
+			{
+				checks.add(child.checks);
+			}
+		}
+		return checks.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static List<StubRequirement> children(int size)
+	{
+		List<StubRequirement> children = new ArrayList<>();
+		for (int i = 0; i < size; i++)
+		{
+			children.add(new StubRequirement(CHILD_INPUTS[i % CHILD_INPUTS.length]));
+		}
+		return children;
+	}
+
+	private static class StubRequirement implements Requirement
+	{
+		private final Set<RequirementInput> inputs;
+		private boolean result;
+		private int checks;
+
+		private StubRequirement(RequirementInput input)
+		{
+			this.inputs = RequirementInput.of(input);
+		}
+
+		@Override
+		public boolean check(Client client)
+		{
+			checks++;
+			return result;
+		}
+
+		@Override
+		public Set<RequirementInput> getInputs()
+		{
+			return inputs;
+		}
+
+		@Override
+		public String getDisplayText()
+		{
+			return "Stub " + inputs;
+		}
+	}
+
+	/**
+	 * The check {@link Conditions} made before it was compiled: every child is checked and the passing ones counted.
+	 */
+	private static class LegacyConditions implements Requirement
+	{
+		private final boolean onlyNeedToPassOnce;
+		private final LogicType logicType;
+		private final Operation operation;
+		private final int quantity;
+		private final List<Requirement> conditions;
+		private boolean hasPassed;
+
+		private LegacyConditions(boolean onlyNeedToPassOnce, LogicType logicType, Operation operation, int quantity,
+			Requirement... conditions)
+		{
+			this.onlyNeedToPassOnce = onlyNeedToPassOnce;
+			this.logicType = logicType;
+			this.operation = operation;
+			this.quantity = quantity;
+			this.conditions = Arrays.asList(conditions);
+		}
+
+		@Override
+		public boolean check(Client client)
+		{
+			if (onlyNeedToPassOnce && hasPassed)
+			{
+				return true;
+			}
+
+			int conditionsPassed = (int) conditions.stream().filter(c -> c.check(client)).count();
+
+			if (operation != null)
+			{
+				return operation.check(conditionsPassed, quantity);
+			}
+
+			if ((conditionsPassed > 0 && logicType == LogicType.OR)
+				|| (conditionsPassed == 0 && logicType == LogicType.NOR)
+				|| (conditionsPassed == conditions.size() && logicType == LogicType.AND)
+				|| (conditionsPassed < conditions.size() && logicType == LogicType.NAND))
+			{
+				hasPassed = true;
+				return true;
+			}
+
+			return false;
+		}
+
+		@Override
+		public String getDisplayText()
+		{
+			return "Legacy " + logicType;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.requirements.evaluation;
+
+import com.questhelper.requirements.Requirement;
+import com.questhelper.tracking.VarSnapshot;
+import com.questhelper.tracking.ZoneIndex;
+import java.util.Set;
+import net.runelite.api.Client;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequirementEvaluationContextTest
+{
+	private Client client;
+	private RequirementEvaluator evaluator;
+	private RequirementEvaluationContext context;
+
+	@Before
+	public void before()
+	{
+		client = mock(Client.class);
+		when(client.getTickCount()).thenReturn(1);
+		VarSnapshot vars = new VarSnapshot(client);
+		ZoneIndex zones = new ZoneIndex(client);
+		evaluator = new RequirementEvaluator(client, vars, zones);
+		context = new RequirementEvaluationContext(client, evaluator, vars, null, null, zones, null, null, null);
+	}
+
+	@Test
+	public void changeOnlyDropsResultsReadingIt()
+	{
+		StubRequirement varbit = new StubRequirement(RequirementInput.VARBIT);
+		StubRequirement npcs = new StubRequirement(RequirementInput.NPCS);
+		context.check(varbit);
+		context.check(npcs);
+
+		evaluator.markChanged(RequirementInput.NPCS);
+		npcs.result = true;
+
+		assertFalse(context.check(varbit));
+		assertTrue(context.check(npcs));
+		assertEquals(1, varbit.checks);
+		assertEquals(2, npcs.checks);
+	}
+
+	@Test
+	public void unknownInputIsDroppedByAnyChange()
+	{
+		StubRequirement unknown = new StubRequirement(RequirementInput.UNKNOWN);
+		context.check(unknown);
+		context.check(unknown);
+		assertEquals(1, unknown.checks);
+
+		evaluator.markChanged(RequirementInput.INVENTORY);
+		context.check(unknown);
+		assertEquals(2, unknown.checks);
+	}
+
+	@Test
+	public void newTickDropsEveryResult()
+	{
+		StubRequirement chat = new StubRequirement(RequirementInput.CHAT);
+		context.check(chat);
+		context.check(chat);
+		assertEquals(1, chat.checks);
+
+		when(client.getTickCount()).thenReturn(2);
+		context.check(chat);
+		assertEquals(2, chat.checks);
+	}
+
+	private static class StubRequirement implements Requirement
+	{
+		private final Set<RequirementInput> inputs;
+		private boolean result;
+		private int checks;
+
+		private StubRequirement(RequirementInput input)
+		{
+			this.inputs = RequirementInput.of(input);
+		}
+
+		@Override
+		public boolean check(Client client)
+		{
+			checks++;
+			return result;
+		}
+
+		@Override
+		public Set<RequirementInput> getInputs()
+		{
+			return inputs;
+		}
+
+		@Override
+		public String getDisplayText()
+		{
+			return "Stub " + inputs;
+		}
+	}
+}
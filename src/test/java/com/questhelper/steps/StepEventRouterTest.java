@@ -0,0 +1,132 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.steps;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.api.NpcID;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times starting and stopping steps through the router against registering them with the event bus, as steps
+ * did before the router. Only logs the timings, as the test shouldn't fail on a slow machine.
+ */
+public class StepEventRouterTest
+{
+	private static final Logger log = LoggerFactory.getLogger(StepEventRouterTest.class);
+
+	/** Roughly how many subscribers other plugins and the client have registered */
+	private static final int OTHER_SUBSCRIBERS = 200;
+	private static final int STEP_CHANGES = 2000;
+	private static final int WARMUP_ROUNDS = 3;
+
+	private EventBus eventBus;
+	private StepEventRouter router;
+	private List<QuestStep> steps;
+
+	@Before
+	public void before()
+	{
+		eventBus = new EventBus();
+		for (int i = 0; i < OTHER_SUBSCRIBERS; i++)
+		{
+			eventBus.register(new OtherSubscriber());
+		}
+
+		router = new StepEventRouter(eventBus);
+		eventBus.register(router);
+
+		steps = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+		{
+			NpcStep talk = new NpcStep(null, NpcID.COOK_4626, new WorldPoint(3206, 3214, 0), "Talk to the Cook.");
+			NpcStep kill = new NpcStep(null, NpcID.ANGRY_GIANT_RAT, new WorldPoint(3200, 3200, 0), "Kill a giant rat.");
+			ConditionalStep conditionalStep = new ConditionalStep(null, talk);
+			conditionalStep.addStep(null, kill);
+			steps.add(conditionalStep);
+			steps.add(talk);
+			steps.add(kill);
+		}
+	}
+
+	@Test
+	public void timeStepChanges()
+	{
+		long routerNanos = 0;
+		long eventBusNanos = 0;
+		for (int round = 0; round <= WARMUP_ROUNDS; round++)
+		{
+			routerNanos = time(() -> changeSteps(router::register, router::unregister));
+			eventBusNanos = time(() -> changeSteps(eventBus::register, eventBus::unregister));
+		}
+
+		log.info("{} step changes took {}ms through the router and {}ms through the event bus", STEP_CHANGES,
+			routerNanos / 1_000_000, eventBusNanos / 1_000_000);
+		assertTrue(routerNanos > 0 && eventBusNanos > 0);
+
+		// Nothing is left registered, so the steps, which have no client, are never posted to
+		eventBus.post(new GameTick());
+	}
+
+	private void changeSteps(StepConsumer register, StepConsumer unregister)
+	{
+		for (int i = 0; i < STEP_CHANGES; i++)
+		{
+			QuestStep step = steps.get(i % steps.size());
+			register.accept(step);
+			unregister.accept(step);
+		}
+	}
+
+	private static long time(Runnable runnable)
+	{
+		long start = System.nanoTime();
+		runnable.run();
+		return System.nanoTime() - start;
+	}
+
+	private interface StepConsumer
+	{
+		void accept(Object step);
+	}
+
+	public static class OtherSubscriber
+	{
+		@Subscribe
+		public void onGameTick(GameTick event)
+		{
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.steps.tools;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import net.runelite.api.Client;
+import static net.runelite.api.Constants.CHUNK_SIZE;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QuestPerspectiveTest
+{
+	private static final int BASE_X = 3200;
+	private static final int BASE_Y = 3136;
+
+	private static final int TEMPLATE_X = 400;
+	private static final int TEMPLATE_Y = 700;
+
+	private Client client;
+
+	@Before
+	public void before()
+	{
+		QuestPerspective.invalidateInstanceChunks();
+
+		client = mock(Client.class);
+		when(client.isInInstancedRegion()).thenReturn(true);
+		when(client.getBaseX()).thenReturn(BASE_X);
+		when(client.getBaseY()).thenReturn(BASE_Y);
+	}
+
+	@Test
+	public void everyRotationMatchesBaseline()
+	{
+		// The same template chunk, once in each rotation, with another template chunk in between
+		int[][][] chunks = new int[1][3][3];
+		chunks[0][0][0] = chunkData(TEMPLATE_X, TEMPLATE_Y, 0);
+		chunks[0][0][2] = chunkData(TEMPLATE_X, TEMPLATE_Y, 1);
+		chunks[0][1][1] = chunkData(TEMPLATE_X + 1, TEMPLATE_Y, 0);
+		chunks[0][2][0] = chunkData(TEMPLATE_X, TEMPLATE_Y, 2);
+		chunks[0][2][2] = chunkData(TEMPLATE_X, TEMPLATE_Y, 3);
+		when(client.getInstanceTemplateChunks()).thenReturn(chunks);
+
+		assertEquals(4, assertEveryTileMatchesBaseline(TEMPLATE_X, TEMPLATE_Y, 0));
+		assertEquals(1, assertEveryTileMatchesBaseline(TEMPLATE_X + 1, TEMPLATE_Y, 0));
+		assertEquals(0, assertEveryTileMatchesBaseline(TEMPLATE_X + 2, TEMPLATE_Y, 0));
+	}
+
+	@Test
+	public void repeatedTemplateChunksOnEveryPlane()
+	{
+		int[][][] chunks = new int[4][2][2];
+		for (int z = 0; z < chunks.length; z++)
+		{
+			chunks[z][0][0] = chunkData(TEMPLATE_X, TEMPLATE_Y, z);
+			chunks[z][1][1] = chunkData(TEMPLATE_X, TEMPLATE_Y, 3 - z);
+			chunks[z][0][1] = chunkData(TEMPLATE_X, TEMPLATE_Y + 1, 2);
+		}
+		when(client.getInstanceTemplateChunks()).thenReturn(chunks);
+
+		for (int plane = 0; plane < chunks.length; plane++)
+		{
+			when(client.getPlane()).thenReturn(plane);
+			assertTrue(assertEveryTileMatchesBaseline(TEMPLATE_X, TEMPLATE_Y, plane) > 0);
+			assertTrue(assertEveryTileMatchesBaseline(TEMPLATE_X, TEMPLATE_Y + 1, plane) > 0);
+		}
+	}
+
+	@Test
+	public void newSceneIsIndexedAgain()
+	{
+		int[][][] first = new int[1][2][2];
+		first[0][0][0] = chunkData(TEMPLATE_X, TEMPLATE_Y, 1);
+		when(client.getInstanceTemplateChunks()).thenReturn(first);
+		assertEquals(1, assertEveryTileMatchesBaseline(TEMPLATE_X, TEMPLATE_Y, 0));
+
+		int[][][] second = new int[1][2][2];
+		second[0][1][0] = chunkData(TEMPLATE_X, TEMPLATE_Y, 3);
+		second[0][1][1] = chunkData(TEMPLATE_X, TEMPLATE_Y, 0);
+		when(client.getInstanceTemplateChunks()).thenReturn(second);
+		assertEquals(2, assertEveryTileMatchesBaseline(TEMPLATE_X, TEMPLATE_Y, 0));
+
+		when(client.getBaseX()).thenReturn(BASE_X + 8 * CHUNK_SIZE);
+		assertEquals(2, assertEveryTileMatchesBaseline(TEMPLATE_X, TEMPLATE_Y, 0));
+	}
+
+	@Test
+	public void outsideInstanceIsUnchanged()
+	{
+		when(client.isInInstancedRegion()).thenReturn(false);
+		WorldPoint point = new WorldPoint(3222, 3218, 0);
+
+		Collection<WorldPoint> points = QuestPerspective.toLocalInstance(client, point);
+		assertEquals(1, points.size());
+		assertTrue(points.contains(point));
+	}
+
+	/**
+	 * Check every tile of a template chunk against the baseline.
+	 *
+	 * @return how many instance points each tile has
+	 */
+	private int assertEveryTileMatchesBaseline(int templateChunkX, int templateChunkY, int plane)
+	{
+		int count = -1;
+		for (int x = 0; x < CHUNK_SIZE; x++)
+		{
+			for (int y = 0; y < CHUNK_SIZE; y++)
+			{
+				WorldPoint point = new WorldPoint(templateChunkX * CHUNK_SIZE + x, templateChunkY * CHUNK_SIZE + y, plane);
+				List<WorldPoint> expected = baselineToLocalInstance(client, point);
+
+				assertEquals(point.toString(), expected, new ArrayList<>(QuestPerspective.toLocalInstance(client, point)));
+				if (count >= 0)
+				{
+					assertEquals(point.toString(), count, expected.size());
+				}
+				count = expected.size();
+			}
+		}
+		return count;
+	}
+
+	private static int chunkData(int templateChunkX, int templateChunkY, int rotation)
+	{
+		return templateChunkX << 14 | templateChunkY << 3 | rotation << 1;
+	}
+
+	/**
+	 * How instance points were found before the template chunks were indexed.
+	 */
+	private static List<WorldPoint> baselineToLocalInstance(Client client, WorldPoint worldPoint)
+	{
+		List<WorldPoint> worldPoints = new ArrayList<>();
+
+		int[][][] instanceTemplateChunks = client.getInstanceTemplateChunks();
+		for (int z = 0; z < instanceTemplateChunks.length; ++z)
+		{
+			for (int x = 0; x < instanceTemplateChunks[z].length; ++x)
+			{
+				for (int y = 0; y < instanceTemplateChunks[z][x].length; ++y)
+				{
+					int chunkData = instanceTemplateChunks[z][x][y];
+					int rotation = chunkData >> 1 & 0x3;
+					int templateChunkY = (chunkData >> 3 & 0x7FF) * CHUNK_SIZE;
+					int templateChunkX = (chunkData >> 14 & 0x3FF) * CHUNK_SIZE;
+					if (worldPoint.getX() >= templateChunkX && worldPoint.getX() < templateChunkX + CHUNK_SIZE
+						&& worldPoint.getY() >= templateChunkY && worldPoint.getY() < templateChunkY + CHUNK_SIZE)
+					{
+						WorldPoint p =
+							new WorldPoint(client.getBaseX() + x * CHUNK_SIZE + (worldPoint.getX() & (CHUNK_SIZE - 1)),
+								client.getBaseY() + y * CHUNK_SIZE + (worldPoint.getY() & (CHUNK_SIZE - 1)),
+								z);
+						p = baselineRotate(p, rotation);
+						if (p.isInScene(client))
+						{
+							worldPoints.add(p);
+						}
+					}
+				}
+			}
+		}
+		return worldPoints;
+	}
+
+	private static WorldPoint baselineRotate(WorldPoint point, int rotation)
+	{
+		int chunkX = point.getX() & ~(CHUNK_SIZE - 1);
+		int chunkY = point.getY() & ~(CHUNK_SIZE - 1);
+		int x = point.getX() & (CHUNK_SIZE - 1);
+		int y = point.getY() & (CHUNK_SIZE - 1);
+		switch (rotation)
+		{
+			case 1:
+				return new WorldPoint(chunkX + y, chunkY + (CHUNK_SIZE - 1 - x), point.getPlane());
+			case 2:
+				return new WorldPoint(chunkX + (CHUNK_SIZE - 1 - x), chunkY + (CHUNK_SIZE - 1 - y), point.getPlane());
+			case 3:
+				return new WorldPoint(chunkX + (CHUNK_SIZE - 1 - y), chunkY + x, point.getPlane());
+		}
+		return point;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class IdListTest
+{
+	@Test
+	public void keepsFirstOccurrenceInOrder()
+	{
+		IdList ids = IdList.of(5, 3, 5, 9, 3);
+
+		assertEquals(Arrays.asList(5, 3, 9), ids);
+		assertArrayEquals(new int[]{ 5, 3, 9 }, ids.toIntArray());
+		assertEquals(9, ids.getId(2));
+	}
+
+	@Test
+	public void containsZero()
+	{
+		assertFalse(IdList.of(1, 2).containsId(0));
+		assertFalse(IdList.EMPTY.containsId(0));
+
+		IdList ids = IdList.of(1, 0, 2);
+		assertTrue(ids.containsId(0));
+		assertTrue(ids.contains(0));
+		assertEquals(Arrays.asList(1, 0, 2), ids);
+	}
+
+	@Test
+	public void containsNegativeIds()
+	{
+		IdList ids = IdList.of(-1, Integer.MIN_VALUE, 7);
+
+		assertTrue(ids.containsId(-1));
+		assertTrue(ids.containsId(Integer.MIN_VALUE));
+		assertTrue(ids.containsId(7));
+		assertFalse(ids.containsId(1));
+		assertFalse(ids.containsId(-7));
+		assertTrue(ids.containsAny(new int[]{ 3, -1 }));
+		assertFalse(ids.containsAny(new int[]{ 3, -3 }));
+	}
+
+	@Test
+	public void containsEveryIdOfLargeList()
+	{
+		int[] values = new int[1000];
+		for (int i = 0; i < values.length; i++)
+		{
+			// Sequential and widely spread ids, which would both cluster without mixing
+			values[i] = (i % 2 == 0) ? i : i << 16;
+		}
+		IdList ids = IdList.of(values);
+
+		assertEquals(values.length, ids.size());
+		for (int value : values)
+		{
+			assertTrue(ids.containsId(value));
+		}
+		assertFalse(ids.containsId(1001));
+		assertFalse(ids.containsId(-2));
+	}
+
+	@Test
+	public void plusAppendsNewIdsInOrder()
+	{
+		IdList ids = IdList.of(1, 2, 3);
+		IdList combined = ids.plus(Arrays.asList(4, 2, 0, 4, -5));
+
+		assertEquals(Arrays.asList(1, 2, 3, 4, 0, -5), combined);
+		assertTrue(combined.containsId(0));
+		assertTrue(combined.containsId(-5));
+		assertEquals(Arrays.asList(1, 2, 3), ids);
+	}
+
+	@Test
+	public void plusWithNothingNewIsSameList()
+	{
+		IdList ids = IdList.of(1, 2, 3);
+
+		assertSame(ids, ids.plus(Arrays.asList(3, 1)));
+		assertSame(ids, ids.plus(Collections.emptyList()));
+	}
+
+	@Test
+	public void plusGrowsTable()
+	{
+		IdList ids = IdList.EMPTY;
+		for (int i = 1; i <= 100; i++)
+		{
+			ids = ids.plus(Collections.singletonList(i * 31));
+		}
+
+		assertEquals(100, ids.size());
+		for (int i = 1; i <= 100; i++)
+		{
+			assertEquals(i * 31, ids.getId(i - 1));
+			assertTrue(ids.containsId(i * 31));
+		}
+	}
+
+	@Test
+	public void copyOfSharesIdLists()
+	{
+		IdList ids = IdList.of(1, 2);
+
+		assertSame(ids, IdList.copyOf(ids));
+		assertEquals(ids, IdList.copyOf(Arrays.asList(1, 2, 1)));
+		assertSame(IdList.EMPTY, IdList.copyOf(Collections.emptyList()));
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ *  * Copyright (c) 2021
+ *  * All rights reserved.
+ *  *
+ *  * Redistribution and use in source and binary forms, with or without
+ *  * modification, are permitted provided that the following conditions are met:
+ *  *
+ *  * 1. Redistributions of source code must retain the above copyright notice, this
+ *  *    list of conditions and the following disclaimer.
+ *  * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *  *    this list of conditions and the following disclaimer in the documentation
+ *  *    and/or other materials provided with the distribution.
+ *  *
+ *  * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package com.questhelper.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class IntIntMapTest
+{
+	@Test
+	public void missingKeysReadAsDefault()
+	{
+		IntIntMap map = new IntIntMap(4, -1);
+
+		assertEquals(-1, map.get(3));
+		assertEquals(-1, map.get(0));
+		assertFalse(map.containsKey(3));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void storesZeroKey()
+	{
+		IntIntMap map = new IntIntMap();
+		map.put(0, 5);
+
+		assertTrue(map.containsKey(0));
+		assertEquals(5, map.get(0));
+		assertEquals(1, map.size());
+
+		map.put(0, 6);
+		assertEquals(6, map.get(0));
+		assertEquals(1, map.size());
+
+		map.add(0, 2);
+		assertEquals(8, map.get(0));
+	}
+
+	@Test
+	public void storesNegativeKeys()
+	{
+		IntIntMap map = new IntIntMap();
+		map.put(-1, 10);
+		map.put(Integer.MIN_VALUE, 20);
+
+		assertEquals(10, map.get(-1));
+		assertEquals(20, map.get(Integer.MIN_VALUE));
+		assertFalse(map.containsKey(1));
+		assertEquals(2, map.size());
+	}
+
+	@Test
+	public void addTreatsMissingKeyAsDefault()
+	{
+		IntIntMap map = new IntIntMap(4, 100);
+		map.add(7, 5);
+		map.add(7, -3);
+
+		assertEquals(102, map.get(7));
+	}
+
+	@Test
+	public void keepsEntriesWhenGrowingPastThreshold()
+	{
+		IntIntMap map = new IntIntMap(4);
+		map.put(0, -1);
+		for (int key = -500; key <= 500; key++)
+		{
+			if (key != 0)
+			{
+				map.put(key, key * 3);
+			}
+		}
+
+		assertEquals(1001, map.size());
+		assertEquals(-1, map.get(0));
+		for (int key = -500; key <= 500; key++)
+		{
+			if (key != 0)
+			{
+				assertTrue(map.containsKey(key));
+				assertEquals(key * 3, map.get(key));
+			}
+		}
+		assertFalse(map.containsKey(501));
+	}
+
+	@Test
+	public void clearRemovesEverything()
+	{
+		IntIntMap map = new IntIntMap();
+		map.put(0, 1);
+		map.put(1, 2);
+		map.put(-1, 3);
+		map.clear();
+
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(0));
+		assertFalse(map.containsKey(1));
+		assertFalse(map.containsKey(-1));
+		assertEquals(0, map.get(1));
+
+		map.put(1, 4);
+		assertEquals(4, map.get(1));
+		assertEquals(1, map.size());
+	}
+}